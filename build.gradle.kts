@@ -96,5 +96,21 @@ tasks.jacocoTestReport {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+val benchmark by tasks.registering(Test::class) {
+    description = "Runs the throughput benchmarks."
+    group = LifecycleBasePlugin.VERIFICATION_GROUP
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    systemProperty("logback.configurationFile", "logback-benchmark.xml")
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
+
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
 }
@@ -5,5 +5,7 @@ module tech.ixirsii.argparse4j {
     exports tech.ixirsii.parse.command;
     exports tech.ixirsii.parse.event;
     exports tech.ixirsii.parse.exception;
+    exports tech.ixirsii.parse.flow;
     exports tech.ixirsii.parse.parser;
+    exports tech.ixirsii.parse.registry;
 }
@@ -6,6 +6,7 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import tech.ixirsii.parse.internal.ArgumentEvent;
+import tech.ixirsii.parse.parser.ParseError;
 import tech.ixirsii.parse.parser.ParseResult;
 import tech.ixirsii.parse.parser.Parser;
 
@@ -94,6 +95,31 @@ public abstract sealed class Argument<T> implements Comparable<Argument<T>>
         }
     }
 
+    /**
+     * Create an event which parses its value the first time the value is read.
+     *
+     * @param name  Optional argument name if passed.
+     * @param value Argument value.
+     * @return New deferred argument internal.
+     */
+    /* default */ ArgumentEvent<T> defer(@NonNull final CharSequence name, @NonNull final CharSequence value) {
+        log.trace("Deferring {}={}", name, value);
+
+        return new ArgumentEvent<>(name, value, parser);
+    }
+
+    /**
+     * Create a failed event for an option which was passed without its required value.
+     *
+     * @param name Option name as passed.
+     * @return New failed argument internal.
+     */
+    /* default */ ArgumentEvent<T> missingValue(@NonNull final CharSequence name) {
+        log.error("Missing value for {}", name);
+
+        return new ArgumentEvent<>(name, "", ParseResult.failure(ParseError.missingValue(name)));
+    }
+
     /**
      * Parse argument.
      *
@@ -101,17 +127,28 @@ public abstract sealed class Argument<T> implements Comparable<Argument<T>>
      * @param value Argument value.
      * @return New argument internal.
      */
-    /* default */ ArgumentEvent<T> parse(@NonNull final String name, @NonNull final String value) {
+    /* default */ ArgumentEvent<T> parse(@NonNull final CharSequence name, @NonNull final CharSequence value) {
         log.trace("Parsing {}={}", name, value);
 
-        final ParseResult<T> result = parser.parse(value);
+        final ArgumentEvent<T> event = new ArgumentEvent<>(name, value, parser);
 
-        if (result.isSuccess()) {
+        event.resolve();
+
+        if (event.isSuccess()) {
             log.debug("Parsed {}={}", name, value);
-            return new ArgumentEvent<>(name, value, result.value(), true, "");
         } else {
             log.error("Failed to parse {}={}", name, value);
-            return new ArgumentEvent<>(name, value, null, false, result.errorMessage());
         }
+
+        return event;
+    }
+
+    /**
+     * Create an empty deferred event which a {@link ParseContext} resets for each value of this argument.
+     *
+     * @return New reusable argument internal.
+     */
+    /* default */ ArgumentEvent<T> reusableEvent() {
+        return new ArgumentEvent<>("", "", parser);
     }
 }
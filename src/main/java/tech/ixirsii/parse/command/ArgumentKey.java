@@ -0,0 +1,61 @@
+package tech.ixirsii.parse.command;
+
+import lombok.NonNull;
+
+/**
+ * Typed handle to an argument of a {@link Command}.
+ *
+ * <p>
+ * A key holds the slot its argument was given when the command was built, so reading a value with it from a
+ * {@link tech.ixirsii.parse.event.CommandEvent} is an array read without hashing the name or casting to a
+ * {@link Class}. Keys are only valid for events produced by the command which created them.
+ *
+ * @author Ryan Porterfield
+ * @param <T> Argument type.
+ * @see Command#key(Argument)
+ * @since 1.0.0
+ */
+public final class ArgumentKey<T> {
+    /**
+     * Argument.
+     */
+    private final Argument<T> argument;
+    /**
+     * Slot of the argument.
+     */
+    private final int slot;
+
+    /**
+     * Constructor.
+     *
+     * @param argument Argument.
+     * @param slot     Slot of the argument.
+     */
+    /* default */ ArgumentKey(@NonNull final Argument<T> argument, final int slot) {
+        this.argument = argument;
+        this.slot = slot;
+    }
+
+    @Override
+    public String toString() {
+        return argument.getName() + "@" + slot;
+    }
+
+    /**
+     * Get the argument.
+     *
+     * @return Argument.
+     */
+    public @NonNull Argument<T> argument() {
+        return argument;
+    }
+
+    /**
+     * Get the slot of the argument.
+     *
+     * @return Argument slot.
+     */
+    public int slot() {
+        return slot;
+    }
+}
@@ -26,5 +26,27 @@ public enum ArgumentValueCount {
     /**
      * Argument consumes one or more values.
      */
-    ONE_OR_MORE,
+    ONE_OR_MORE;
+
+    /**
+     * Most values the argument consumes.
+     *
+     * @return Maximum value count, or {@link Integer#MAX_VALUE} if there is no limit.
+     */
+    /* default */ int maximum() {
+        return switch (this) {
+            case ZERO -> 0;
+            case ZERO_OR_ONE, ONE -> 1;
+            case ZERO_OR_MORE, ONE_OR_MORE -> Integer.MAX_VALUE;
+        };
+    }
+
+    /**
+     * Fewest values the argument consumes.
+     *
+     * @return Minimum value count.
+     */
+    /* default */ int minimum() {
+        return this == ONE || this == ONE_OR_MORE ? 1 : 0;
+    }
 }
@@ -0,0 +1,90 @@
+package tech.ixirsii.parse.command;
+
+import lombok.NonNull;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task which parses a range of a batch of inputs with one {@link Command}.
+ *
+ * <p>
+ * The range is split in half until it is small enough to parse sequentially. Each result is written to the same index
+ * as its input, so results stay in input order however the work is scheduled.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+final class BatchParseTask extends RecursiveAction {
+    /**
+     * Largest range which is parsed without splitting.
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 128;
+
+    /**
+     * Serial version. Tasks aren't meant to be serialized.
+     */
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Inputs to parse.
+     */
+    private final transient List<List<String>> batch;
+    /**
+     * Command to parse with.
+     */
+    private final transient Command command;
+    /**
+     * End of the range (exclusive).
+     */
+    private final int end;
+    /**
+     * Results indexed like {@link #batch}.
+     */
+    private final transient CommandResult[] results;
+    /**
+     * Start of the range (inclusive).
+     */
+    private final int start;
+
+    /**
+     * Constructor.
+     *
+     * @param command Command to parse with.
+     * @param batch   Inputs to parse. Must support fast random access.
+     * @param results Results indexed like {@code batch}.
+     * @param start   Start of the range (inclusive).
+     * @param end     End of the range (exclusive).
+     */
+    /* default */ BatchParseTask(
+        @NonNull final Command command,
+        @NonNull final List<List<String>> batch,
+        @NonNull final CommandResult[] results,
+        final int start,
+        final int end
+    ) {
+        this.batch = batch;
+        this.command = command;
+        this.end = end;
+        this.results = results;
+        this.start = start;
+    }
+
+    @Override
+    protected void compute() {
+        if (end - start <= SEQUENTIAL_THRESHOLD) {
+            for (int i = start; i < end; ++i) {
+                results[i] = command.parse(batch.get(i));
+            }
+        } else {
+            final int middle = (start + end) >>> 1;
+
+            invokeAll(
+                new BatchParseTask(command, batch, results, start, middle),
+                new BatchParseTask(command, batch, results, middle, end)
+            );
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package tech.ixirsii.parse.command;
+
+/**
+ * Snapshot of a command's result cache counters.
+ *
+ * @author Ryan Porterfield
+ * @param hits      Parses answered from the cache.
+ * @param misses    Parses which weren't cached.
+ * @param evictions Results removed to make room.
+ * @param size      Number of cached results.
+ * @see Command#withResultCache(int)
+ * @since 1.0.0
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+    /**
+     * Statistics of a command without a result cache.
+     */
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0);
+
+    /**
+     * Fraction of parses answered from the cache.
+     *
+     * @return Hit ratio from {@code 0.0} to {@code 1.0}, or {@code 0.0} if nothing has been parsed.
+     */
+    public double hitRatio() {
+        final long requests = hits + misses;
+
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
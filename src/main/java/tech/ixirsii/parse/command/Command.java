@@ -1,19 +1,30 @@
 package tech.ixirsii.parse.command;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.SequencedMap;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import tech.ixirsii.parse.internal.ArgumentEvent;
-import tech.ixirsii.parse.internal.ArgumentMatch;
-import tech.ixirsii.parse.internal.ArgumentPair;
+import tech.ixirsii.parse.internal.ArgumentFileSource;
+import tech.ixirsii.parse.internal.BoundedCache;
 import tech.ixirsii.parse.internal.InternalEvent;
+import tech.ixirsii.parse.internal.LineChunks;
+import tech.ixirsii.parse.internal.LineTokenizer;
+import tech.ixirsii.parse.internal.ListTokenSource;
+import tech.ixirsii.parse.internal.MappedText;
+import tech.ixirsii.parse.internal.StringSplitter;
+import tech.ixirsii.parse.internal.TextSlice;
+import tech.ixirsii.parse.internal.TokenRun;
+import tech.ixirsii.parse.internal.TokenSource;
 import tech.ixirsii.parse.parser.Parser;
 
 /**
@@ -34,6 +45,11 @@ public final class Command {
      */
     public static final String POSIX_PREFIX = "-";
 
+    /**
+     * Chunks per worker thread when a file is parsed, so that threads which finish early can take more work.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
     /**
      * About message for help text.
      */
@@ -41,28 +57,27 @@ public final class Command {
     private final String about;
 
     /**
-     * GNU long options.
+     * Expand {@code @file} tokens into the tokens of the file?
      */
-    @NonNull
-    private final SequencedMap<String, OptionalArgument<?>> longOptions;
+    private final boolean isExpandingArgumentFiles;
 
     /**
      * Command name.
      */
+    @Getter
     @NonNull
     private final String name;
 
     /**
-     * Required (positional) arguments.
+     * Compiled parse plan.
      */
     @NonNull
-    private final List<PositionalArgument<?>> positionalArguments;
+    private final ParsePlan plan;
 
     /**
-     * POSIX short options.
+     * Cached results by input tokens, or {@code null} if results aren't cached.
      */
-    @NonNull
-    private final SequencedMap<Character, OptionalArgument<?>> shortOptions;
+    private final BoundedCache<List<String>, CommandResult> resultCache;
 
     /**
      * Usage message.
@@ -78,6 +93,7 @@ public final class Command {
      * @param usage               Usage message.
      * @param optionalArguments   Optional arguments.
      * @param positionalArguments Required (positional) arguments.
+     * @throws IllegalArgumentException if two options have the same long or short option.
      */
     public Command(
         @NonNull final String name,
@@ -92,29 +108,80 @@ public final class Command {
             "Show this help message",
             Parser.BOOLEAN_PARSER
         );
-        final SequencedMap<String, OptionalArgument<?>> longOptionMap = LinkedHashMap.newLinkedHashMap(
-            optionalArguments.size() + 1
-        );
-        final SequencedMap<Character, OptionalArgument<?>> shortOptionMap = LinkedHashMap.newLinkedHashMap(
-            optionalArguments.size() + 1
-        );
-
-        longOptionMap.put(help.getName(), help);
-        shortOptionMap.put(help.getShortOption(), help);
-
-        for (final OptionalArgument<?> optionalArgument : optionalArguments) {
-            longOptionMap.put(optionalArgument.getName(), optionalArgument);
-            shortOptionMap.put(optionalArgument.getShortOption(), optionalArgument);
-        }
 
         this.about = about;
-        this.longOptions = Collections.unmodifiableSequencedMap(longOptionMap);
+        this.isExpandingArgumentFiles = false;
         this.name = name;
-        this.positionalArguments = List.copyOf(positionalArguments);
-        this.shortOptions = Collections.unmodifiableSequencedMap(shortOptionMap);
+        this.plan = new ParsePlan(help, optionalArguments, positionalArguments);
+        this.resultCache = null;
         this.usage = usage;
     }
 
+    /**
+     * Constructor for a copy of a command with different parse settings.
+     *
+     * @param command                  Command to copy.
+     * @param resultCache              Cached results by input tokens, or {@code null} if results aren't cached.
+     * @param isExpandingArgumentFiles Expand {@code @file} tokens into the tokens of the file?
+     */
+    private Command(
+        @NonNull final Command command,
+        final BoundedCache<List<String>, CommandResult> resultCache,
+        final boolean isExpandingArgumentFiles
+    ) {
+        this.about = command.about;
+        this.isExpandingArgumentFiles = isExpandingArgumentFiles;
+        this.name = command.name;
+        this.plan = command.plan;
+        this.resultCache = resultCache;
+        this.usage = command.usage;
+    }
+
+    /**
+     * Get the counters of the result cache.
+     *
+     * @return Cache statistics, or {@link CacheStats#EMPTY} if results aren't cached.
+     * @see #withResultCache(int)
+     */
+    public @NonNull CacheStats cacheStats() {
+        if (resultCache == null) {
+            return CacheStats.EMPTY;
+        }
+
+        return new CacheStats(resultCache.hits(), resultCache.misses(), resultCache.evictions(), resultCache.size());
+    }
+
+    /**
+     * Get the typed handle of one of this command's arguments.
+     *
+     * <p>
+     * Look keys up once, when the command is built, and use them to read values from every event the command
+     * produces.
+     *
+     * @param argument Argument which was passed to the constructor.
+     * @param <T>      Argument type.
+     * @return Key of the argument.
+     * @throws IllegalArgumentException if the argument isn't one of this command's arguments.
+     */
+    public <T> ArgumentKey<T> key(@NonNull final Argument<T> argument) {
+        final int slot = plan.slot(argument);
+
+        if (slot == ParsePlan.NOT_FOUND) {
+            throw new IllegalArgumentException("Argument " + argument.getName() + " isn't part of command " + name);
+        }
+
+        return new ArgumentKey<>(argument, slot);
+    }
+
+    /**
+     * Create a reusable context for {@link #parseInto(List, ParseContext)}.
+     *
+     * @return New parse context for this command.
+     */
+    public ParseContext newContext() {
+        return new ParseContext(plan);
+    }
+
     /**
      * Parse command input that has already been split, such as JVM command line arguments.
      *
@@ -124,48 +191,212 @@ public final class Command {
     public CommandResult parse(@NonNull final List<String> arguments) {
         log.trace("Parsing arguments {}", arguments);
 
-        final InternalEvent.InternalEventBuilder builder = InternalEvent.builder();
-        final Map<Integer, List<Argument<?>>> matchMap = HashMap.newHashMap(arguments.size());
-
-        for (int i = 0; i < arguments.size(); ++i) {
-            final String argument = arguments.get(i);
-            final List<ArgumentMatch> matchedArguments = getArguments(argument);
+        if (resultCache == null || isExpandingArgumentFiles) {
+            return parse(expand(new ListTokenSource(arguments)), false);
+        } else {
+            // Copy so later changes to the caller's list can't change a cached result
+            return parseCached(List.copyOf(arguments));
+        }
+    }
 
-            if (!matchedArguments.isEmpty()) {
-                final List<Argument<?>> recognizedArguments = new ArrayList<>(matchedArguments.size());
+    /**
+     * Parse a raw line of command input, such as a chat message.
+     *
+     * <p>
+     * The line is split on whitespace as it is parsed. Whitespace inside quotes doesn't split an argument. Tokens
+     * refer to the line rather than copying it, so the line must not be modified while the result is in use.
+     *
+     * @param line Input line.
+     * @return Command result.
+     */
+    public CommandResult parse(@NonNull final CharSequence line) {
+        log.trace("Parsing line {}", line);
 
-                for (final ArgumentMatch argumentMatch : matchedArguments) {
-                    if (argumentMatch.match() == null) {
-                        builder.unrecognized(argumentMatch.argument());
-                    } else {
-                        recognizedArguments.add(argumentMatch.match());
-                    }
-                }
+        if (resultCache == null || isExpandingArgumentFiles) {
+            return parse(expand(new LineTokenizer(line)), false);
+        } else {
+            return parseCached(tokens(line));
+        }
+    }
 
-                matchMap.put(i, recognizedArguments);
-            }
+    /**
+     * Parse command input that has already been split into a reusable context.
+     *
+     * <p>
+     * The context's event and failure are overwritten, so they are only valid until the context is used again.
+     * Arguments are reset and refilled in place rather than allocated, and tokens are shared rather than sliced, so
+     * once the JIT has warmed up, parsing input which fits in primitive parsers allocates nothing. Other parsers still
+     * allocate their values. A context must only be used by one thread at a time.
+     *
+     * @param arguments Split input.
+     * @param context   Context created by {@link #newContext()} of this command.
+     * @return {@code true} if the command was successful, otherwise {@code false}.
+     * @throws IllegalArgumentException if the context belongs to a different command.
+     */
+    public boolean parseInto(@NonNull final List<String> arguments, @NonNull final ParseContext context) {
+        if (!context.isFor(plan)) {
+            throw new IllegalArgumentException("Parse context belongs to a different command than " + name);
         }
 
-        for (int i = 0, j = 0; i < arguments.size(); ++i) {
-            final String argument = arguments.get(i);
+        final InternalEvent builder = context.builder();
 
-            if (matchMap.containsKey(i)) {
-                final List<Argument<?>> matchedArguments = matchMap.get(i);
+        fill(context.reset(arguments), false, builder);
+        context.complete(isValid(builder));
 
-                for (final Argument<?> matchedArgument : matchedArguments) {
-                    if (matchedArgument.getValueCount() == ArgumentValueCount.ZERO) {
-                        builder.event(matchedArgument.getName(), matchedArgument.parse(argument, ""));
-                    }
-                }
-            } else if (j < positionalArguments.size()) {
-                final PositionalArgument<?> positionalArgument = positionalArguments.get(j);
+        return context.isSuccess();
+    }
 
-                builder.event(positionalArgument.getName(), positionalArgument.parse("", argument));
-                ++j;
-            } else {
-                builder.unrecognized(argument);
-            }
-        }
+    /**
+     * Parse command input that has already been split, deferring value conversion until values are read.
+     *
+     * <p>
+     * The result only reflects whether the input has the right shape: every token is recognized, every positional
+     * argument is present and every option which requires a value has one. Each value is converted by its parser the
+     * first time it is read from the {@link tech.ixirsii.parse.event.CommandEvent}, and the result is cached. Use
+     * {@link tech.ixirsii.parse.event.CommandEvent#validate()} to convert and check every value up front.
+     *
+     * @param arguments Split input.
+     * @return Command result.
+     */
+    public CommandResult parseLazily(@NonNull final List<String> arguments) {
+        log.trace("Lazily parsing arguments {}", arguments);
+
+        return parse(expand(new ListTokenSource(arguments)), true);
+    }
+
+    /**
+     * Parse a raw line of command input, deferring value conversion until values are read.
+     *
+     * <p>
+     * Deferred values refer to the line, so the line must not be modified while the result is in use.
+     *
+     * @param line Input line.
+     * @return Command result.
+     * @see #parseLazily(List)
+     */
+    public CommandResult parseLazily(@NonNull final CharSequence line) {
+        log.trace("Lazily parsing line {}", line);
+
+        return parse(expand(new LineTokenizer(line)), true);
+    }
+
+    /**
+     * Parse a batch of split inputs in parallel on the common fork/join pool.
+     *
+     * @param batch Split inputs.
+     * @return Command results in the same order as {@code batch}.
+     * @see #parseAll(List, ForkJoinPool)
+     */
+    public List<CommandResult> parseAll(@NonNull final List<List<String>> batch) {
+        return parseAll(batch, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse a batch of split inputs in parallel, such as the commands in an audit log.
+     *
+     * <p>
+     * Commands are immutable, so one command can parse the whole batch from every thread in {@code pool}. Pass a pool
+     * created with {@code new ForkJoinPool(parallelism)} to limit how many threads are used.
+     *
+     * @param batch Split inputs.
+     * @param pool  Pool to parse the batch in.
+     * @return Command results in the same order as {@code batch}.
+     */
+    public List<CommandResult> parseAll(@NonNull final List<List<String>> batch, @NonNull final ForkJoinPool pool) {
+        log.trace("Parsing batch of {} inputs with parallelism {}", batch.size(), pool.getParallelism());
+
+        final List<List<String>> inputs = batch instanceof RandomAccess ? batch : List.copyOf(batch);
+        final CommandResult[] results = new CommandResult[inputs.size()];
+
+        pool.invoke(new BatchParseTask(this, inputs, results, 0, results.length));
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Parse a file with one command line per line in parallel, such as a journal of commands to replay.
+     *
+     * <p>
+     * The file is memory-mapped and split into chunks of whole lines on its raw bytes, which are parsed on the common
+     * fork/join pool. Each line is decoded by the task parsing it and parsed like {@link #parse(CharSequence)}. An
+     * ASCII line is a view of the mapping, so it is never copied into a string. Blank lines are skipped but still
+     * counted. The stream is ordered: {@code forEachOrdered} and collecting return results in file order, while
+     * {@code forEach} handles each result as soon as it is parsed.
+     *
+     * @param path File of command lines, in ASCII or UTF-8.
+     * @return Parallel stream of line results.
+     * @throws IOException                 if the file can't be read or is larger than 2 GiB.
+     * @throws java.io.UncheckedIOException from the stream if a line isn't valid UTF-8.
+     */
+    public Stream<LineResult> parseLines(@NonNull final Path path) throws IOException {
+        log.trace("Parsing lines of {}", path);
+
+        final LineChunks chunks = new LineChunks(
+            MappedText.map(path),
+            ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD
+        );
+
+        return IntStream.range(0, chunks.count())
+            .parallel()
+            .boxed()
+            .mapMulti((chunk, results) -> chunks.forEachLine(
+                chunk,
+                (line, number) -> results.accept(new LineResult(number, parse(line)))
+            ));
+    }
+
+    /**
+     * Lazily parse a batch of split inputs as a parallel stream.
+     *
+     * <p>
+     * The stream is ordered, so collecting it keeps results in the same order as {@code batch}. It runs in the common
+     * fork/join pool unless the terminal operation is started from a task in another pool.
+     *
+     * @param batch Split inputs.
+     * @return Parallel stream of command results.
+     */
+    public Stream<CommandResult> parseStream(@NonNull final List<List<String>> batch) {
+        return batch.parallelStream().map(this::parse);
+    }
+
+    /**
+     * Copy this command with a cache of whole results, for workloads dominated by a few identical inputs.
+     *
+     * <p>
+     * {@link #parse(List)} and {@link #parse(CharSequence)} look the input's tokens up before parsing, so repeated
+     * input skips tokenizing, matching and value conversion and gets the same {@link CommandResult} back. Lines are
+     * keyed by their tokens, so lines which only differ in whitespace between tokens share a result. Results of
+     * eager parses are never modified after they are returned, so they can be shared between threads. Lazy parses and
+     * {@link #parseInto(List, ParseContext)} aren't cached. The cache admits new inputs by frequency (W-TinyLFU), so a
+     * burst of one-off commands doesn't push out the popular ones.
+     *
+     * @param maximumSize Maximum number of cached results.
+     * @return New command which shares this command's arguments and keys, with its own cache.
+     * @throws IllegalArgumentException if {@code maximumSize} isn't positive.
+     * @see #cacheStats()
+     */
+    public Command withResultCache(final int maximumSize) {
+        return new Command(this, new BoundedCache<>(maximumSize, true, 0, System::nanoTime), isExpandingArgumentFiles);
+    }
+
+    /**
+     * Copy this command with {@code @file} argument files, like the response files of javac and gcc.
+     *
+     * <p>
+     * Every parse method except {@link #parseInto(List, ParseContext)} replaces a token such as {@code @args.txt} with
+     * the tokens of the file, which may refer to other argument files. Each line of a file is split on whitespace with
+     * the same quoting as {@link #parse(CharSequence)}. Files are memory-mapped and each line is decoded when it is
+     * parsed, so a file with millions of tokens isn't copied into strings, and the values of a
+     * {@link PositionalArgument#varargs(String, String, Parser) varargs} argument refer to the mapping when they are
+     * ASCII. Relative paths are resolved against the working directory. Parsing throws
+     * {@link java.io.UncheckedIOException} if an argument file can't be read or isn't valid UTF-8, and
+     * {@link IllegalArgumentException} if an argument file refers to itself. Results aren't cached, since argument
+     * files can change between parses.
+     *
+     * @return New command which shares this command's arguments and keys, and expands argument files.
+     */
+    public Command withArgumentFiles() {
+        return new Command(this, resultCache, true);
     }
 
     /* ******************************************** Override methods ******************************************** */
@@ -185,14 +416,14 @@ public final class Command {
             .append("Options:")
             .append(System.lineSeparator());
 
-        for (final OptionalArgument<?> option : longOptions.sequencedValues()) {
-            stringBuilder.append(option).append(System.lineSeparator());
+        for (int i = 0; i < plan.optionCount(); ++i) {
+            stringBuilder.append(plan.option(i)).append(System.lineSeparator());
         }
 
         stringBuilder.append(System.lineSeparator()).append("Arguments:").append(System.lineSeparator());
 
-        for (final PositionalArgument<?> argument : positionalArguments) {
-            stringBuilder.append(argument).append(System.lineSeparator());
+        for (int i = 0; i < plan.positionalCount(); ++i) {
+            stringBuilder.append(plan.positional(i)).append(System.lineSeparator());
         }
 
         return stringBuilder.toString();
@@ -200,78 +431,294 @@ public final class Command {
 
     /* **************************************** Private utility methods ***************************************** */
 
-    private List<ArgumentMatch> getArguments(@NonNull final String argument) {
-        if (argument.equals(GNU_PREFIX) || argument.equals(POSIX_PREFIX)) {
-            return Collections.singletonList(new ArgumentMatch(argument, null));
-        } else if (argument.startsWith(GNU_PREFIX)) {
-            final String longOption = argument.substring(GNU_PREFIX.length());
-
-            return Collections.singletonList(new ArgumentMatch(argument, longOptions.get(longOption)));
-        } else if (argument.startsWith(POSIX_PREFIX)) {
-            final String flags = argument.substring(POSIX_PREFIX.length());
-            final List<ArgumentMatch> arguments = new ArrayList<>(flags.length());
+    /**
+     * Check if the parser of the option in a slot accepts the next token as its value.
+     *
+     * @param slot   Option slot.
+     * @param tokens Input tokens.
+     * @return {@code true} if the next token parses as the option's value, otherwise {@code false}.
+     */
+    private boolean acceptsNext(final int slot, @NonNull final TokenSource tokens) {
+        final CharSequence next = tokens.peek();
 
-            for (final char flag : flags.toCharArray()) {
-                arguments.add(new ArgumentMatch("-" + flag, shortOptions.get(flag)));
-            }
+        return plan.argument(slot).getParser().accepts(StringSplitter.unquote(next, 0, next.length()));
+    }
 
-            return Collections.unmodifiableList(arguments);
-        } else {
-            return Collections.emptyList();
+    /**
+     * Check if the option in a slot takes the next token as its value.
+     *
+     * @param slot   Option slot.
+     * @param tokens Input tokens.
+     * @param seen   Number of positional tokens read so far.
+     * @return {@code true} if the option consumes the next token, otherwise {@code false}.
+     */
+    private boolean consumesValue(final int slot, @NonNull final TokenSource tokens, final int seen) {
+        if (!tokens.hasNext()) {
+            return false;
         }
+
+        return switch (plan.valueCount(slot)) {
+            case ZERO -> false;
+            case ONE, ONE_OR_MORE -> true;
+            // Optional values are only taken when they can't be an option, are accepted by the option's parser, and
+            // won't starve the positional arguments
+            case ZERO_OR_ONE, ZERO_OR_MORE -> !tokens.nextStartsWith(POSIX_PREFIX.charAt(0))
+                && acceptsNext(slot, tokens)
+                && tokens.remaining() - 1 >= plan.requiredPositionalTokens() - seen;
+        };
     }
 
     /**
-     * Convert event to string.
+     * Count the tokens which aren't options or option values, then rewind the tokens.
      *
-     * @param commandEvent Internal command event to convert.
-     * @return String representation of the event.
+     * <p>
+     * Options are matched exactly as {@link #fill(TokenSource, boolean, InternalEvent)} matches them, but nothing is
+     * parsed or stored.
+     *
+     * @param tokens Input tokens.
+     * @return Number of positional tokens.
      */
-    private String getErrorMessage(@NonNull final InternalEvent commandEvent) {
-        final StringBuilder builder = new StringBuilder("{").append(System.lineSeparator());
-        final Map<String, ArgumentEvent<?>> events = commandEvent.events();
+    private int countPositionals(@NonNull final TokenSource tokens) {
+        int seen = 0;
+
+        while (tokens.next()) {
+            if (!startsWith(tokens.text(), tokens.start(), tokens.end(), POSIX_PREFIX)) {
+                ++seen;
+            } else {
+                final int slot = trailingOption(tokens);
 
-        for (final Map.Entry<String, ArgumentEvent<?>> event : events.entrySet()) {
-            final ArgumentEvent<?> value = event.getValue();
+                if (slot >= 0 && consumesValue(slot, tokens, seen)) {
+                    tokens.next();
+                }
+            }
+        }
 
-            builder.append("    ");
+        tokens.rewind();
 
-            if (!value.isSuccess()) {
-                builder
-                    .append(value.name())
-                    .append("=\"")
-                    .append(value.value())
-                    .append("\": ")
-                    .append(value.errorMessage())
-                    .append(System.lineSeparator());
+        return seen;
+    }
+
+    /**
+     * Expand argument files in tokens if this command reads argument files.
+     *
+     * @param tokens Input tokens.
+     * @return Input tokens, with argument files expanded if they are enabled.
+     */
+    private TokenSource expand(@NonNull final TokenSource tokens) {
+        return isExpandingArgumentFiles ? new ArgumentFileSource(tokens) : tokens;
+    }
+
+    /**
+     * Fill an event builder from tokens.
+     *
+     * <p>
+     * Positional tokens are distributed in a single pass by {@link ParsePlan#positionalQuota(int, int)}. If a
+     * positional argument doesn't take exactly one token, the positional tokens are counted in a first pass which
+     * doesn't parse anything. The tokens of a variadic argument are passed to its parser as one {@link TokenRun},
+     * which only refers to the input.
+     *
+     * @param tokens  Input tokens.
+     * @param isLazy  Defer converting values until they are read?
+     * @param builder Event builder.
+     */
+    private void fill(@NonNull final TokenSource tokens, final boolean isLazy, @NonNull final InternalEvent builder) {
+        final int total = plan.hasVariablePositionals() ? countPositionals(tokens) : Integer.MAX_VALUE;
+        // Moved to the first positional argument by the first positional token
+        int positional = -1;
+        int quota = 0;
+        TokenRun run = null;
+        int seen = 0;
+        int taken = 0;
+
+        while (tokens.next()) {
+            final CharSequence text = tokens.text();
+            final int start = tokens.start();
+            final int end = tokens.end();
+
+            if (end - start == GNU_PREFIX.length() && startsWith(text, start, end, GNU_PREFIX)) {
+                builder.unrecognized(GNU_PREFIX);
+            } else if (end - start == POSIX_PREFIX.length() && startsWith(text, start, end, POSIX_PREFIX)) {
+                builder.unrecognized(POSIX_PREFIX);
+            } else if (startsWith(text, start, end, GNU_PREFIX)) {
+                parseLongOption(tokens, seen, isLazy, builder);
+            } else if (startsWith(text, start, end, POSIX_PREFIX)) {
+                parseShortOptions(tokens, seen, isLazy, builder);
             } else {
-                builder
-                    .append(value.name())
-                    .append("=\"")
-                    .append(value.value())
-                    .append("\"")
-                    .append(System.lineSeparator());
+                while (taken == quota && positional < plan.positionalCount()) {
+                    ++positional;
+                    quota = positional < plan.positionalCount() ? plan.positionalQuota(positional, total - seen) : 0;
+                    taken = 0;
+                }
+
+                ++seen;
+
+                if (positional == plan.positionalCount()) {
+                    builder.unrecognized(tokens.slice());
+                } else {
+                    final int slot = plan.optionCount() + positional;
+                    final PositionalArgument<?> positionalArgument = plan.positional(positional);
+
+                    ++taken;
+
+                    if (plan.valueCount(slot).maximum() == 1) {
+                        put(builder, slot, positionalArgument, "", value(tokens), isLazy);
+                    } else if (run == null) {
+                        run = TokenRun.start(tokens);
+                    } else {
+                        run.add(tokens);
+                    }
+
+                    if (run != null && taken == quota) {
+                        put(builder, slot, positionalArgument, "", run, isLazy);
+                        run = null;
+                    }
+                }
             }
         }
+    }
 
-        for (final PositionalArgument<?> positionalArgument : positionalArguments) {
-            if (!events.containsKey(positionalArgument.getName())) {
-                builder
-                    .append("    ")
-                    .append(positionalArgument)
-                    .append(" is missing but is required")
-                    .append(System.lineSeparator());
-            }
+    /**
+     * Parse tokens in a single pass.
+     *
+     * @param tokens Input tokens.
+     * @param isLazy Defer converting values until they are read?
+     * @return Command result.
+     */
+    private CommandResult parse(@NonNull final TokenSource tokens, final boolean isLazy) {
+        final InternalEvent builder = new InternalEvent(plan.index());
+
+        fill(tokens, isLazy, builder);
+
+        if (isValid(builder)) {
+            return new CommandResult(builder.toCommandEvent(), null);
+        } else {
+            return new CommandResult(builder.toCommandEvent(), new CommandFailure(builder, plan));
         }
+    }
 
-        if (!commandEvent.unrecognized().isEmpty()) {
-            builder
-                .append("    Unrecognized arguments: ")
-                .append(commandEvent.unrecognized())
-                .append(System.lineSeparator());
+    /**
+     * Parse input tokens, answering from the result cache if they have been parsed before.
+     *
+     * @param tokens Immutable input tokens.
+     * @return Command result.
+     */
+    private CommandResult parseCached(@NonNull final List<String> tokens) {
+        final CommandResult cached = resultCache.get(tokens);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final CommandResult result = parse(new ListTokenSource(tokens), false);
+
+        resultCache.put(tokens, result);
+
+        return result;
+    }
+
+    /**
+     * Parse the current token as a GNU long option, either {@code --option value} or {@code --option=value}.
+     *
+     * @param tokens     Input tokens.
+     * @param seen       Number of positional tokens read so far.
+     * @param isLazy     Defer converting values until they are read?
+     * @param builder    Event builder.
+     */
+    private void parseLongOption(
+        @NonNull final TokenSource tokens,
+        final int seen,
+        final boolean isLazy,
+        @NonNull final InternalEvent builder
+    ) {
+        final CharSequence text = tokens.text();
+        final int start = tokens.start();
+        final int separator = indexOf(text, start + GNU_PREFIX.length(), tokens.end(), '=');
+        final int slot = plan.longOption(text, start + GNU_PREFIX.length(), separator);
+
+        if (slot < 0) {
+            log.debug("Long option is {}", slot == ParsePlan.AMBIGUOUS ? "ambiguous" : "unrecognized");
+            builder.unrecognized(tokens.slice());
+        } else if (separator == tokens.end()) {
+            parseOptionValue(tokens, tokens.slice(), slot, seen, isLazy, builder);
+        } else {
+            final Argument<?> option = plan.argument(slot);
+            final TextSlice name = new TextSlice(text, start, separator);
+
+            put(builder, slot, option, name, StringSplitter.unquote(text, separator + 1, tokens.end()), isLazy);
+        }
+    }
+
+    /**
+     * Parse an option, consuming the next token if the option takes a value.
+     *
+     * @param tokens     Input tokens.
+     * @param name       Option name as passed.
+     * @param slot       Option slot.
+     * @param seen       Number of positional tokens read so far.
+     * @param isLazy     Defer converting values until they are read?
+     * @param builder    Event builder.
+     */
+    private void parseOptionValue(
+        @NonNull final TokenSource tokens,
+        @NonNull final CharSequence name,
+        final int slot,
+        final int seen,
+        final boolean isLazy,
+        @NonNull final InternalEvent builder
+    ) {
+        final Argument<?> option = plan.argument(slot);
+
+        if (consumesValue(slot, tokens, seen)) {
+            tokens.next();
+            put(builder, slot, option, name, value(tokens), isLazy);
+        } else if (plan.requiresValue(slot)) {
+            builder.event(slot, option.missingValue(name));
+        } else {
+            put(builder, slot, option, name, "", isLazy);
         }
+    }
 
-        return builder.append("}").toString();
+    /**
+     * Parse the current token as a cluster of POSIX short options, such as {@code -abc} or {@code -i8}.
+     *
+     * <p>
+     * An option which requires a value takes the rest of the cluster as its value. Only the last option in the
+     * cluster may consume the next token.
+     *
+     * @param tokens     Input tokens.
+     * @param seen       Number of positional tokens read so far.
+     * @param isLazy     Defer converting values until they are read?
+     * @param builder    Event builder.
+     */
+    private void parseShortOptions(
+        @NonNull final TokenSource tokens,
+        final int seen,
+        final boolean isLazy,
+        @NonNull final InternalEvent builder
+    ) {
+        final CharSequence text = tokens.text();
+        final int end = tokens.end();
+        final int last = end - 1;
+
+        for (int i = tokens.start() + POSIX_PREFIX.length(); i <= last; ++i) {
+            final char flag = text.charAt(i);
+            final int slot = plan.shortOption(flag);
+
+            if (slot == ParsePlan.NOT_FOUND) {
+                builder.unrecognized(POSIX_PREFIX + flag);
+            } else if (i == last) {
+                parseOptionValue(tokens, plan.shortName(slot), slot, seen, isLazy, builder);
+            } else if (plan.requiresValue(slot)) {
+                final Argument<?> option = plan.argument(slot);
+
+                put(builder, slot, option, plan.shortName(slot), StringSplitter.unquote(text, i + 1, end), isLazy);
+                return;
+            } else {
+                final Argument<?> option = plan.argument(slot);
+
+                put(builder, slot, option, plan.shortName(slot), "", isLazy);
+            }
+        }
     }
 
     /**
@@ -281,28 +728,197 @@ public final class Command {
      * @return {@code true} if the command is valid, otherwise {@code false}.
      */
     private boolean isValid(@NonNull final InternalEvent commandEvent) {
-        log.trace("Validating command internal");
-
-        if (!commandEvent.unrecognized().isEmpty()) {
+        if (commandEvent.hasUnrecognized()) {
             log.debug("Command internal contains unrecognized arguments");
             return false;
         }
 
-        for (final ArgumentEvent<?> argumentEvent : commandEvent.events().values()) {
-            if (!argumentEvent.isSuccess()) {
+        for (int slot = 0; slot < plan.optionCount(); ++slot) {
+            final ArgumentEvent<?> argumentEvent = commandEvent.event(slot);
+
+            // Deferred values are only checked when they are read or validated
+            if (argumentEvent != null && argumentEvent.isResolved() && !argumentEvent.isSuccess()) {
                 log.debug("Command internal failed to parse some arguments");
                 return false;
             }
         }
 
-        for (final PositionalArgument<?> argument : positionalArguments) {
-            if (!commandEvent.events().containsKey(argument.getName())) {
-                log.debug("Command internal does not contain required positional argument {}", argument);
+        for (int i = 0; i < plan.positionalCount(); ++i) {
+            final ArgumentEvent<?> argumentEvent = commandEvent.event(plan.optionCount() + i);
 
+            if (argumentEvent == null && plan.requiresValue(plan.optionCount() + i)) {
+                log.debug("Command internal does not contain required positional argument {}", plan.positional(i));
+
+                return false;
+            } else if (argumentEvent == null) {
+                continue;
+            } else if (argumentEvent.isResolved() && !argumentEvent.isSuccess()) {
+                log.debug("Command internal failed to parse some arguments");
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Create the event for an argument value.
+     *
+     * @param argument Argument.
+     * @param name     Argument name as passed.
+     * @param value    Argument value.
+     * @param isLazy   Defer converting the value until it is read?
+     * @return New argument event.
+     */
+    private static ArgumentEvent<?> event(
+        @NonNull final Argument<?> argument,
+        @NonNull final CharSequence name,
+        @NonNull final CharSequence value,
+        final boolean isLazy
+    ) {
+        return isLazy ? argument.defer(name, value) : argument.parse(name, value);
+    }
+
+    /**
+     * Find a character in a range.
+     *
+     * @param text  Text to search.
+     * @param start Start of the range (inclusive).
+     * @param end   End of the range (exclusive).
+     * @param c     Character to find.
+     * @return Index of the character, or {@code end} if it isn't found.
+     */
+    private static int indexOf(@NonNull final CharSequence text, final int start, final int end, final char c) {
+        for (int i = start; i < end; ++i) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+
+        return end;
+    }
+
+    /**
+     * Store the event for an argument value, reusing the slot's event if the builder owns one.
+     *
+     * @param builder  Event builder.
+     * @param slot     Argument slot.
+     * @param argument Argument.
+     * @param name     Argument name as passed.
+     * @param value    Argument value.
+     * @param isLazy   Defer converting the value until it is read?
+     */
+    private static void put(
+        @NonNull final InternalEvent builder,
+        final int slot,
+        @NonNull final Argument<?> argument,
+        @NonNull final CharSequence name,
+        @NonNull final CharSequence value,
+        final boolean isLazy
+    ) {
+        final ArgumentEvent<?> reusable = builder.reusable(slot);
+
+        if (reusable == null) {
+            builder.event(slot, event(argument, name, value, isLazy));
+        } else {
+            // Reused events skip the logging in Argument#parse, which would allocate on every value
+            reusable.reset(name, value);
+
+            if (!isLazy) {
+                reusable.resolve();
+            }
+
+            builder.event(slot, reusable);
+        }
+    }
+
+    /**
+     * Check if a range starts with a prefix.
+     *
+     * @param text   Text to check.
+     * @param start  Start of the range (inclusive).
+     * @param end    End of the range (exclusive).
+     * @param prefix Prefix to check for.
+     * @return {@code true} if the range starts with {@code prefix}, otherwise {@code false}.
+     */
+    private static boolean startsWith(
+        @NonNull final CharSequence text,
+        final int start,
+        final int end,
+        @NonNull final String prefix
+    ) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); ++i) {
+            if (text.charAt(start + i) != prefix.charAt(i)) {
                 return false;
             }
         }
 
         return true;
     }
+
+    /**
+     * Find the option at the end of the current token, which may take the next token as its value.
+     *
+     * @param tokens Input tokens, at a token which starts with {@link #POSIX_PREFIX}.
+     * @return Option slot, or {@link ParsePlan#NOT_FOUND} if the token can't take the next token as a value.
+     */
+    private int trailingOption(@NonNull final TokenSource tokens) {
+        final CharSequence text = tokens.text();
+        final int start = tokens.start();
+        final int end = tokens.end();
+
+        if (end - start <= GNU_PREFIX.length() && startsWith(text, start, end, GNU_PREFIX)
+                || end - start == POSIX_PREFIX.length()) {
+            return ParsePlan.NOT_FOUND;
+        } else if (startsWith(text, start, end, GNU_PREFIX)) {
+            final int separator = indexOf(text, start + GNU_PREFIX.length(), end, '=');
+            final int slot = separator == end ? plan.longOption(text, start + GNU_PREFIX.length(), end) : -1;
+
+            return slot < 0 ? ParsePlan.NOT_FOUND : slot;
+        }
+
+        for (int i = start + POSIX_PREFIX.length(); i < end; ++i) {
+            final int slot = plan.shortOption(text.charAt(i));
+
+            if (i == end - 1) {
+                return slot;
+            } else if (slot != ParsePlan.NOT_FOUND && plan.requiresValue(slot)) {
+                return ParsePlan.NOT_FOUND;
+            }
+        }
+
+        return ParsePlan.NOT_FOUND;
+    }
+
+    /**
+     * Split a line into its tokens, keeping quotes, as the key of its cached result.
+     *
+     * @param line Input line.
+     * @return Line tokens.
+     */
+    private static List<String> tokens(@NonNull final CharSequence line) {
+        final LineTokenizer tokenizer = new LineTokenizer(line);
+        final List<String> tokens = new ArrayList<>();
+
+        while (tokenizer.next()) {
+            tokens.add(line.subSequence(tokenizer.start(), tokenizer.end()).toString());
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Get the value of the current token.
+     *
+     * @param tokens Input tokens.
+     * @return Token value without enclosing quotes.
+     */
+    private static CharSequence value(@NonNull final TokenSource tokens) {
+        return StringSplitter.unquote(tokens.text(), tokens.start(), tokens.end());
+    }
 }
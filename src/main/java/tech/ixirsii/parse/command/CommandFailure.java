@@ -0,0 +1,165 @@
+package tech.ixirsii.parse.command;
+
+import lombok.NonNull;
+import tech.ixirsii.parse.internal.ArgumentEvent;
+import tech.ixirsii.parse.internal.InternalEvent;
+import tech.ixirsii.parse.parser.ParseError;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Why a command failed to parse.
+ *
+ * <p>
+ * A failure only keeps references to the parsed arguments and the command's plan. The details and the error message
+ * are worked out when they are asked for, so a caller which only checks {@link CommandResult#isSuccess()} pays
+ * nothing to describe the failure.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class CommandFailure {
+    /**
+     * Indentation of each line of the error message.
+     */
+    private static final String INDENT = "    ";
+    /**
+     * Line separator.
+     */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * Parsed arguments.
+     */
+    private final InternalEvent event;
+    /**
+     * Plan of the command which was parsed.
+     */
+    private final ParsePlan plan;
+
+    /**
+     * Constructor.
+     *
+     * @param event Parsed arguments.
+     * @param plan  Plan of the command which was parsed.
+     */
+    /* default */ CommandFailure(@NonNull final InternalEvent event, @NonNull final ParsePlan plan) {
+        this.event = event;
+        this.plan = plan;
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+
+        try {
+            writeTo(builder);
+        } catch (final IOException e) {
+            // StringBuilder doesn't throw
+            throw new UncheckedIOException(e);
+        }
+
+        return builder.toString();
+    }
+
+    /* ********************************************* Public methods ********************************************* */
+
+    /**
+     * Get the arguments whose values failed to parse. Values which were deferred and haven't been read aren't checked.
+     *
+     * @return Map of argument names to parse errors, in the order the arguments were declared.
+     */
+    public @NonNull Map<String, ParseError> errors() {
+        final Map<String, ParseError> errors = new LinkedHashMap<>();
+
+        for (int slot = 0; slot < event.index().size(); ++slot) {
+            final ArgumentEvent<?> argumentEvent = event.event(slot);
+
+            if (argumentEvent != null && argumentEvent.isResolved() && !argumentEvent.isSuccess()) {
+                errors.put(event.index().name(slot), argumentEvent.error());
+            }
+        }
+
+        return Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * Get the required positional arguments which weren't passed.
+     *
+     * @return Missing positional arguments.
+     */
+    public @NonNull List<PositionalArgument<?>> missing() {
+        final List<PositionalArgument<?>> missing = new ArrayList<>();
+
+        for (int i = 0; i < plan.positionalCount(); ++i) {
+            if (event.event(plan.optionCount() + i) == null && plan.requiresValue(plan.optionCount() + i)) {
+                missing.add(plan.positional(i));
+            }
+        }
+
+        return Collections.unmodifiableList(missing);
+    }
+
+    /**
+     * Get the arguments which didn't match any option or positional argument.
+     *
+     * @return Unrecognized arguments.
+     */
+    public @NonNull List<CharSequence> unrecognized() {
+        return event.unrecognized();
+    }
+
+    /**
+     * Write the error message.
+     *
+     * @param out Destination, such as a reused {@link StringBuilder} or a {@link java.io.Writer}.
+     * @throws IOException if writing to {@code out} fails.
+     */
+    public void writeTo(@NonNull final Appendable out) throws IOException {
+        out.append('{').append(LINE_SEPARATOR);
+
+        for (int slot = 0; slot < event.index().size(); ++slot) {
+            final ArgumentEvent<?> value = event.event(slot);
+
+            if (value == null) {
+                continue;
+            }
+
+            out.append(INDENT).append(value.name()).append("=\"").append(value.value()).append('"');
+
+            if (value.isResolved() && !value.isSuccess()) {
+                out.append(": ").append(value.errorMessage());
+            }
+
+            out.append(LINE_SEPARATOR);
+        }
+
+        for (int i = 0; i < plan.positionalCount(); ++i) {
+            if (event.event(plan.optionCount() + i) == null && plan.requiresValue(plan.optionCount() + i)) {
+                out
+                    .append(INDENT)
+                    .append(plan.positional(i).toString())
+                    .append(" is missing but is required")
+                    .append(LINE_SEPARATOR);
+            }
+        }
+
+        if (!event.unrecognized().isEmpty()) {
+            out
+                .append(INDENT)
+                .append("Unrecognized arguments: ")
+                .append(event.unrecognized().toString())
+                .append(LINE_SEPARATOR);
+        }
+
+        out.append('}');
+    }
+}
@@ -3,14 +3,48 @@ package tech.ixirsii.parse.command;
 import lombok.NonNull;
 import tech.ixirsii.parse.event.CommandEvent;
 
+import java.io.IOException;
+
 /**
  * Command result.
  *
+ * <p>
+ * A failed result carries a structured {@link CommandFailure}. The error message is only rendered when
+ * {@link #errorMessage()} or {@link #writeErrorMessage(Appendable)} is called.
+ *
  * @author Ryan Porterfield
- * @param event Command internal.
- * @param isSuccess Was the command successful?
- * @param errorMessage Error message if the command was not successful, otherwise empty string.
+ * @param event   Command internal.
+ * @param failure Why the command failed, or {@code null} if the command was successful.
  * @since 1.0.0
  */
-public record CommandResult(@NonNull CommandEvent event, boolean isSuccess, @NonNull String errorMessage) {
+public record CommandResult(@NonNull CommandEvent event, CommandFailure failure) {
+    /**
+     * Render the error message.
+     *
+     * @return Error message if the command was not successful, otherwise empty string.
+     */
+    public @NonNull String errorMessage() {
+        return failure == null ? "" : failure.toString();
+    }
+
+    /**
+     * Check if the command was successful.
+     *
+     * @return {@code true} if the command was successful, otherwise {@code false}.
+     */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * Write the error message. Nothing is written if the command was successful.
+     *
+     * @param out Destination, such as a reused {@link StringBuilder} or a {@link java.io.Writer}.
+     * @throws IOException if writing to {@code out} fails.
+     */
+    public void writeErrorMessage(@NonNull final Appendable out) throws IOException {
+        if (failure != null) {
+            failure.writeTo(out);
+        }
+    }
 }
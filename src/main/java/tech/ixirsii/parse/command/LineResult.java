@@ -0,0 +1,15 @@
+package tech.ixirsii.parse.command;
+
+import lombok.NonNull;
+
+/**
+ * Result of parsing one line of a file of command lines.
+ *
+ * @author Ryan Porterfield
+ * @param lineNumber One-based number of the line in the file.
+ * @param result     Command result.
+ * @see Command#parseLines(java.nio.file.Path)
+ * @since 1.0.0
+ */
+public record LineResult(long lineNumber, @NonNull CommandResult result) {
+}
@@ -0,0 +1,148 @@
+package tech.ixirsii.parse.command;
+
+import lombok.NonNull;
+import tech.ixirsii.parse.event.CommandEvent;
+import tech.ixirsii.parse.internal.ArgumentEvent;
+import tech.ixirsii.parse.internal.InternalEvent;
+import tech.ixirsii.parse.internal.ListTokenSource;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reusable state for {@link Command#parseInto(List, ParseContext)}.
+ *
+ * <p>
+ * A context owns one argument event per argument of its command, a token source and an event view, all allocated
+ * once when the context is created. Each parse resets and refills them, so the event and failure of a context are
+ * only valid until it is used to parse again. A context isn't thread safe; give each thread its own.
+ *
+ * @author Ryan Porterfield
+ * @see Command#newContext()
+ * @since 1.0.0
+ */
+public final class ParseContext {
+    /**
+     * Event builder which is reset for each parse.
+     */
+    private final InternalEvent builder;
+    /**
+     * View of the builder's argument events.
+     */
+    private final CommandEvent event;
+    /**
+     * Plan of the command which created this context.
+     */
+    private final ParsePlan plan;
+    /**
+     * Token source which is reset for each parse.
+     */
+    private final ListTokenSource tokens;
+    /**
+     * Was the last parse successful?
+     */
+    private boolean isSuccess;
+
+    /**
+     * Constructor.
+     *
+     * @param plan Plan of the command which created this context.
+     */
+    /* default */ ParseContext(@NonNull final ParsePlan plan) {
+        final ArgumentEvent<?>[] reusable = new ArgumentEvent<?>[plan.index().size()];
+
+        for (int slot = 0; slot < reusable.length; ++slot) {
+            reusable[slot] = plan.argument(slot).reusableEvent();
+        }
+
+        this.builder = new InternalEvent(plan.index(), reusable);
+        this.event = builder.toCommandEvent();
+        this.plan = plan;
+        this.tokens = new ListTokenSource(List.of());
+    }
+
+    /* ********************************************* Public methods ********************************************* */
+
+    /**
+     * Get the event of the last parse.
+     *
+     * @return Command event, valid until the next parse.
+     */
+    public @NonNull CommandEvent event() {
+        return event;
+    }
+
+    /**
+     * Describe why the last parse failed. The failure is created when it is asked for.
+     *
+     * @return Why the command failed, or {@code null} if the last parse was successful.
+     */
+    public CommandFailure failure() {
+        return isSuccess ? null : new CommandFailure(builder, plan);
+    }
+
+    /**
+     * Check if the last parse was successful.
+     *
+     * @return {@code true} if the last parse was successful, otherwise {@code false}.
+     */
+    public boolean isSuccess() {
+        return isSuccess;
+    }
+
+    /**
+     * Write the error message of the last parse. Nothing is written if it was successful.
+     *
+     * @param out Destination, such as a reused {@link StringBuilder} or a {@link java.io.Writer}.
+     * @throws IOException if writing to {@code out} fails.
+     */
+    public void writeErrorMessage(@NonNull final Appendable out) throws IOException {
+        if (!isSuccess) {
+            failure().writeTo(out);
+        }
+    }
+
+    /* ***************************************** Default access methods ***************************************** */
+
+    /**
+     * Get the event builder.
+     *
+     * @return Event builder.
+     */
+    /* default */ InternalEvent builder() {
+        return builder;
+    }
+
+    /**
+     * Record the outcome of a parse.
+     *
+     * @param isValid Was the parse successful?
+     */
+    /* default */ void complete(final boolean isValid) {
+        isSuccess = isValid;
+    }
+
+    /**
+     * Check if this context was created by the command with a plan.
+     *
+     * @param other Command plan.
+     * @return {@code true} if this context belongs to the command, otherwise {@code false}.
+     */
+    /* default */ boolean isFor(@NonNull final ParsePlan other) {
+        return plan == other;
+    }
+
+    /**
+     * Clear the last parse and start reading new input.
+     *
+     * @param arguments Split input.
+     * @return Token source over {@code arguments}.
+     */
+    /* default */ ListTokenSource reset(@NonNull final List<String> arguments) {
+        builder.reset();
+        tokens.reset(arguments);
+        isSuccess = false;
+
+        return tokens;
+    }
+}
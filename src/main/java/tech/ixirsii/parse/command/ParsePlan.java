@@ -0,0 +1,363 @@
+package tech.ixirsii.parse.command;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import tech.ixirsii.parse.internal.NameTrie;
+import tech.ixirsii.parse.internal.SlotIndex;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable, pre-compiled form of a {@link Command}'s arguments.
+ *
+ * <p>
+ * Every argument is assigned a fixed slot when the plan is compiled: the help option is slot 0, followed by the
+ * optional arguments in declaration order and then the positional arguments. Lookups during parsing resolve to slot
+ * indices so that no per-parse lookup structures have to be built.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+@Slf4j
+final class ParsePlan {
+    /**
+     * Slot returned when an option can't be found.
+     */
+    /* default */ static final int NOT_FOUND = NameTrie.NOT_FOUND;
+    /**
+     * Slot returned when a long option abbreviation matches more than one option.
+     */
+    /* default */ static final int AMBIGUOUS = NameTrie.AMBIGUOUS;
+
+    /**
+     * Size of the dense short option table. Covers ASCII.
+     */
+    private static final int SHORT_TABLE_SIZE = 128;
+
+    /**
+     * Every argument indexed by slot.
+     */
+    private final Argument<?>[] arguments;
+    /**
+     * Argument names and identities to slot, shared by every event.
+     */
+    private final SlotIndex index;
+    /**
+     * GNU long option names to slot.
+     */
+    private final NameTrie longOptionSlots;
+    /**
+     * Number of optional arguments (including help).
+     */
+    private final int optionCount;
+    /**
+     * Sorted non-ASCII POSIX short options.
+     */
+    private final char[] extendedShortOptions;
+    /**
+     * Slots of {@link #extendedShortOptions}.
+     */
+    private final int[] extendedShortSlots;
+    /**
+     * POSIX short option names, such as {@code -h}, indexed by slot.
+     */
+    private final String[] shortNames;
+    /**
+     * ASCII POSIX short option to slot.
+     */
+    private final int[] shortOptionSlots;
+    /**
+     * Value count indexed by slot.
+     */
+    private final ArgumentValueCount[] valueCounts;
+    /**
+     * Does any positional argument take other than exactly one value?
+     */
+    private final boolean hasVariablePositionals;
+    /**
+     * Fewest positional tokens needed by the positional arguments after each positional argument.
+     */
+    private final int[] requiredAfter;
+
+    /**
+     * Constructor.
+     *
+     * @param help                Help option.
+     * @param optionalArguments   Optional arguments.
+     * @param positionalArguments Required (positional) arguments.
+     * @throws IllegalArgumentException if two options have the same long or short option.
+     */
+    /* default */ ParsePlan(
+        @NonNull final OptionalArgument<Boolean> help,
+        @NonNull final Collection<OptionalArgument<?>> optionalArguments,
+        @NonNull final Collection<PositionalArgument<?>> positionalArguments
+    ) {
+        final SequencedMap<String, OptionalArgument<?>> longOptionMap = LinkedHashMap.newLinkedHashMap(
+            optionalArguments.size() + 1
+        );
+
+        longOptionMap.put(help.getName(), help);
+
+        for (final OptionalArgument<?> optionalArgument : optionalArguments) {
+            if (longOptionMap.putIfAbsent(optionalArgument.getName(), optionalArgument) != null) {
+                throw new IllegalArgumentException("Duplicate long option " + Command.GNU_PREFIX
+                    + optionalArgument.getName());
+            }
+        }
+
+        this.optionCount = longOptionMap.size();
+        this.arguments = new Argument<?>[optionCount + positionalArguments.size()];
+        this.valueCounts = new ArgumentValueCount[arguments.length];
+        this.longOptionSlots = new NameTrie(List.copyOf(longOptionMap.sequencedKeySet()));
+
+        int slot = 0;
+
+        for (final OptionalArgument<?> optionalArgument : longOptionMap.sequencedValues()) {
+            arguments[slot] = optionalArgument;
+            valueCounts[slot] = optionalArgument.getValueCount();
+            ++slot;
+        }
+
+        for (final PositionalArgument<?> positionalArgument : positionalArguments) {
+            arguments[slot] = positionalArgument;
+            valueCounts[slot] = positionalArgument.getValueCount();
+            ++slot;
+        }
+
+        this.requiredAfter = new int[positionalArguments.size()];
+
+        boolean isVariable = false;
+
+        for (int i = requiredAfter.length - 1; i >= 0; --i) {
+            final ArgumentValueCount count = valueCounts[optionCount + i];
+
+            if (i > 0) {
+                requiredAfter[i - 1] = requiredAfter[i] + count.minimum();
+            }
+
+            isVariable |= count != ArgumentValueCount.ONE;
+        }
+
+        this.hasVariablePositionals = isVariable;
+        this.index = new SlotIndex(
+            Arrays.asList(arguments),
+            Arrays.stream(arguments).map(Argument::getName).toList()
+        );
+        this.shortNames = new String[optionCount];
+        this.shortOptionSlots = new int[SHORT_TABLE_SIZE];
+
+        final SortedMap<Character, Integer> extended = new TreeMap<>();
+
+        Arrays.fill(shortOptionSlots, NOT_FOUND);
+
+        for (int i = 0; i < optionCount; ++i) {
+            final char flag = option(i).getShortOption();
+            final int existing = flag < SHORT_TABLE_SIZE
+                ? shortOptionSlots[flag]
+                : extended.getOrDefault(flag, NOT_FOUND);
+
+            if (existing != NOT_FOUND) {
+                throw new IllegalArgumentException("Duplicate short option " + Command.POSIX_PREFIX + flag + " for "
+                    + option(existing).getName() + " and " + option(i).getName());
+            } else if (flag < SHORT_TABLE_SIZE) {
+                shortOptionSlots[flag] = i;
+            } else {
+                extended.put(flag, i);
+            }
+
+            shortNames[i] = Command.POSIX_PREFIX + flag;
+        }
+
+        this.extendedShortOptions = new char[extended.size()];
+        this.extendedShortSlots = new int[extended.size()];
+
+        int index = 0;
+
+        for (final Map.Entry<Character, Integer> entry : extended.entrySet()) {
+            extendedShortOptions[index] = entry.getKey();
+            extendedShortSlots[index] = entry.getValue();
+            ++index;
+        }
+
+        log.debug("Compiled parse plan with {} options and {} positional arguments", optionCount, positionalCount());
+    }
+
+    /* ***************************************** Default access methods ***************************************** */
+
+    /**
+     * Get the argument in a slot.
+     *
+     * @param slot Argument slot.
+     * @return Argument.
+     */
+    /* default */ Argument<?> argument(final int slot) {
+        return arguments[slot];
+    }
+
+    /**
+     * Check if any positional argument takes other than exactly one value, in which case the positional tokens have to
+     * be counted before they can be distributed.
+     *
+     * @return {@code true} if a positional argument is optional or variadic, otherwise {@code false}.
+     */
+    /* default */ boolean hasVariablePositionals() {
+        return hasVariablePositionals;
+    }
+
+    /**
+     * Get the slots of every argument.
+     *
+     * @return Slot index.
+     */
+    /* default */ SlotIndex index() {
+        return index;
+    }
+
+    /**
+     * Find the slot of a GNU long option by its name or an unambiguous abbreviation of it.
+     *
+     * @param text  Text containing the long option.
+     * @param start Start of the name after the {@link Command#GNU_PREFIX} (inclusive).
+     * @param end   End of the name (exclusive).
+     * @return Option slot, {@link #NOT_FOUND} or {@link #AMBIGUOUS}.
+     */
+    /* default */ int longOption(@NonNull final CharSequence text, final int start, final int end) {
+        return longOptionSlots.findPrefix(text, start, end);
+    }
+
+    /**
+     * Get an optional argument by index.
+     *
+     * @param index Option index in {@code [0, optionCount())}.
+     * @return Optional argument.
+     */
+    /* default */ OptionalArgument<?> option(final int index) {
+        return (OptionalArgument<?>) arguments[index];
+    }
+
+    /**
+     * Number of optional arguments (including help).
+     *
+     * @return Option count.
+     */
+    /* default */ int optionCount() {
+        return optionCount;
+    }
+
+    /**
+     * Get a positional argument by index.
+     *
+     * @param index Positional index in {@code [0, positionalCount())}.
+     * @return Positional argument.
+     */
+    /* default */ PositionalArgument<?> positional(final int index) {
+        return (PositionalArgument<?>) arguments[optionCount + index];
+    }
+
+    /**
+     * Number of positional arguments.
+     *
+     * @return Positional argument count.
+     */
+    /* default */ int positionalCount() {
+        return arguments.length - optionCount;
+    }
+
+    /**
+     * Get the number of positional tokens a positional argument takes, given how many are left for it and the
+     * positional arguments after it.
+     *
+     * <p>
+     * Each positional argument takes as many tokens as it can while leaving enough for the minimum of every positional
+     * argument after it. With only count constraints this greedy choice always finds a distribution which satisfies
+     * every positional argument if one exists, so no search is needed and distributing is linear in the tokens.
+     *
+     * @param index     Positional index in {@code [0, positionalCount())}.
+     * @param remaining Positional tokens which haven't been distributed yet.
+     * @return Number of tokens for the positional argument.
+     */
+    /* default */ int positionalQuota(final int index, final int remaining) {
+        final ArgumentValueCount count = valueCounts[optionCount + index];
+        final int surplus = Math.min(count.maximum(), remaining - requiredAfter[index]);
+
+        return Math.max(Math.min(count.minimum(), remaining), surplus);
+    }
+
+    /**
+     * Fewest positional tokens needed by every positional argument.
+     *
+     * @return Required positional token count.
+     */
+    /* default */ int requiredPositionalTokens() {
+        return requiredAfter.length == 0 ? 0 : requiredAfter[0] + valueCounts[optionCount].minimum();
+    }
+
+    /**
+     * Check if the argument in a slot must be given a value.
+     *
+     * @param slot Argument slot.
+     * @return {@code true} if the argument requires a value, otherwise {@code false}.
+     */
+    /* default */ boolean requiresValue(final int slot) {
+        return valueCounts[slot] == ArgumentValueCount.ONE || valueCounts[slot] == ArgumentValueCount.ONE_OR_MORE;
+    }
+
+    /**
+     * Find the slot of an argument.
+     *
+     * @param argument Argument to find.
+     * @return Argument slot or {@link #NOT_FOUND}.
+     */
+    /* default */ int slot(@NonNull final Argument<?> argument) {
+        for (int slot = 0; slot < arguments.length; ++slot) {
+            if (arguments[slot] == argument) {
+                return slot;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Get the POSIX short option name of the option in a slot.
+     *
+     * @param slot Option slot.
+     * @return Short option with its {@link Command#POSIX_PREFIX}, such as {@code -h}.
+     */
+    /* default */ String shortName(final int slot) {
+        return shortNames[slot];
+    }
+
+    /**
+     * Find the slot of a POSIX short option.
+     *
+     * @param flag Short option character.
+     * @return Option slot or {@link #NOT_FOUND}.
+     */
+    /* default */ int shortOption(final char flag) {
+        if (flag < SHORT_TABLE_SIZE) {
+            return shortOptionSlots[flag];
+        }
+
+        final int index = Arrays.binarySearch(extendedShortOptions, flag);
+
+        return index < 0 ? NOT_FOUND : extendedShortSlots[index];
+    }
+
+    /**
+     * Get the number of values the argument in a slot consumes.
+     *
+     * @param slot Argument slot.
+     * @return Argument value count.
+     */
+    /* default */ ArgumentValueCount valueCount(final int slot) {
+        return valueCounts[slot];
+    }
+}
@@ -1,16 +1,32 @@
 package tech.ixirsii.parse.command;
 
 import lombok.NonNull;
+import tech.ixirsii.parse.event.LazyValues;
 import tech.ixirsii.parse.parser.Parser;
 
+import java.util.List;
+
 /**
  * Optional argument.
  *
+ * <p>
+ * A positional argument takes exactly one token unless it is created by {@link #optional(String, String, Parser)},
+ * {@link #zeroOrMore(String, String, Parser)}, {@link #oneOrMore(String, String, Parser)} or
+ * {@link #varargs(String, String, Parser)}. Tokens which aren't
+ * options are distributed in order, with each positional argument taking as many as it can while leaving enough for
+ * the ones after it, so a variadic argument may come before other positional arguments, as in {@code cp SOURCE...
+ * DEST}.
+ *
  * @author Ryan Porterfield
  * @param <T> Argument type.
  * @since 1.0.0
  */
 public final class PositionalArgument<T> extends Argument<T> {
+    /**
+     * How many tokens the argument takes.
+     */
+    private final ArgumentValueCount valueCount;
+
     /**
      * Constructor.
      *
@@ -22,7 +38,99 @@ public final class PositionalArgument<T> extends Argument<T> {
             @NonNull final String name,
             @NonNull final String about,
             @NonNull final Parser<T> parser) {
+        this(name, about, parser, ArgumentValueCount.ONE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name       Argument name.
+     * @param about      About message for help text.
+     * @param parser     Function which parses argument strings into values.
+     * @param valueCount How many tokens the argument takes.
+     */
+    private PositionalArgument(
+            @NonNull final String name,
+            @NonNull final String about,
+            @NonNull final Parser<T> parser,
+            @NonNull final ArgumentValueCount valueCount) {
         super(about, name, parser);
+
+        this.valueCount = valueCount;
+    }
+
+    /**
+     * Create a positional argument which takes one or more tokens.
+     *
+     * @param name   Argument name.
+     * @param about  About message for help text.
+     * @param parser Function which parses each token into a value.
+     * @param <T>    Element type.
+     * @return New positional argument whose value is the list of parsed tokens.
+     */
+    public static <T> PositionalArgument<List<T>> oneOrMore(
+            @NonNull final String name,
+            @NonNull final String about,
+            @NonNull final Parser<T> parser) {
+        final ArgumentValueCount count = ArgumentValueCount.ONE_OR_MORE;
+
+        return new PositionalArgument<>(name, about, new VariadicParser<>(parser, count), count);
+    }
+
+    /**
+     * Create a positional argument which takes a token if there are enough for the positional arguments after it.
+     *
+     * @param name   Argument name.
+     * @param about  About message for help text.
+     * @param parser Function which parses argument strings into values.
+     * @param <T>    Argument type.
+     * @return New positional argument, which isn't in the event if it wasn't passed.
+     */
+    public static <T> PositionalArgument<T> optional(
+            @NonNull final String name,
+            @NonNull final String about,
+            @NonNull final Parser<T> parser) {
+        return new PositionalArgument<>(name, about, parser, ArgumentValueCount.ZERO_OR_ONE);
+    }
+
+    /**
+     * Create a positional argument which takes any number of tokens and parses them as they are read.
+     *
+     * <p>
+     * Unlike {@link #zeroOrMore(String, String, Parser)}, the tokens aren't parsed into a list. The value only refers
+     * to the input, so a trailing list of hundreds of thousands of paths can be processed one at a time with flat
+     * memory. Invalid tokens are only found when they are read, so the command result doesn't check them.
+     *
+     * @param name   Argument name.
+     * @param about  About message for help text.
+     * @param parser Function which parses each token into a value.
+     * @param <T>    Element type.
+     * @return New positional argument, which isn't in the event if no tokens were passed.
+     */
+    public static <T> PositionalArgument<LazyValues<T>> varargs(
+            @NonNull final String name,
+            @NonNull final String about,
+            @NonNull final Parser<T> parser) {
+        return new PositionalArgument<>(name, about, new VarargsParser<>(parser), ArgumentValueCount.ZERO_OR_MORE);
+    }
+
+    /**
+     * Create a positional argument which takes any number of tokens.
+     *
+     * @param name   Argument name.
+     * @param about  About message for help text.
+     * @param parser Function which parses each token into a value.
+     * @param <T>    Element type.
+     * @return New positional argument whose value is the list of parsed tokens, which isn't in the event if no tokens
+     *         were passed.
+     */
+    public static <T> PositionalArgument<List<T>> zeroOrMore(
+            @NonNull final String name,
+            @NonNull final String about,
+            @NonNull final Parser<T> parser) {
+        final ArgumentValueCount count = ArgumentValueCount.ZERO_OR_MORE;
+
+        return new PositionalArgument<>(name, about, new VariadicParser<>(parser, count), count);
     }
 
     /* **************************************** Public override methods ***************************************** */
@@ -36,6 +144,6 @@ public final class PositionalArgument<T> extends Argument<T> {
 
     @Override
     protected @NonNull ArgumentValueCount getValueCount() {
-        return ArgumentValueCount.ONE;
+        return valueCount;
     }
 }
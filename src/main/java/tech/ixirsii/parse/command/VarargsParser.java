@@ -0,0 +1,53 @@
+package tech.ixirsii.parse.command;
+
+import lombok.NonNull;
+import tech.ixirsii.parse.event.LazyValues;
+import tech.ixirsii.parse.internal.TokenRun;
+import tech.ixirsii.parse.parser.ParseResult;
+import tech.ixirsii.parse.parser.Parser;
+
+import java.util.List;
+
+/**
+ * Parser for the tokens of a varargs positional argument, which wraps them in {@link LazyValues} without parsing them.
+ *
+ * @author Ryan Porterfield
+ * @param <T> Element type.
+ * @since 1.0.0
+ */
+final class VarargsParser<T> implements Parser<LazyValues<T>> {
+    /**
+     * Element parser.
+     */
+    private final Parser<T> parser;
+
+    /**
+     * Constructor.
+     *
+     * @param parser Element parser.
+     */
+    /* default */ VarargsParser(@NonNull final Parser<T> parser) {
+        this.parser = parser;
+    }
+
+    @NonNull
+    @Override
+    public ArgumentValueCount getValueCount() {
+        return ArgumentValueCount.ZERO_OR_MORE;
+    }
+
+    @Override
+    public @NonNull ParseResult<LazyValues<T>> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<LazyValues<T>> parse(@NonNull final CharSequence value) {
+        if (value instanceof TokenRun run) {
+            return ParseResult.success(new LazyValues<>(run, run.size(), parser));
+        } else {
+            // A value which a command didn't distribute, such as one passed to the parser directly
+            return ParseResult.success(new LazyValues<>(List.of(value), 1, parser));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package tech.ixirsii.parse.command;
+
+import lombok.NonNull;
+import tech.ixirsii.parse.internal.TokenRun;
+import tech.ixirsii.parse.parser.ParseResult;
+import tech.ixirsii.parse.parser.Parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parser for the tokens of a variadic positional argument, which are passed to it as one {@link TokenRun}.
+ *
+ * @author Ryan Porterfield
+ * @param <T> Element type.
+ * @since 1.0.0
+ */
+final class VariadicParser<T> implements Parser<List<T>> {
+    /**
+     * Element parser.
+     */
+    private final Parser<T> parser;
+    /**
+     * How many tokens the argument takes.
+     */
+    private final ArgumentValueCount valueCount;
+
+    /**
+     * Constructor.
+     *
+     * @param parser     Element parser.
+     * @param valueCount How many tokens the argument takes.
+     */
+    /* default */ VariadicParser(@NonNull final Parser<T> parser, @NonNull final ArgumentValueCount valueCount) {
+        this.parser = parser;
+        this.valueCount = valueCount;
+    }
+
+    @NonNull
+    @Override
+    public ArgumentValueCount getValueCount() {
+        return valueCount;
+    }
+
+    @Override
+    public @NonNull ParseResult<List<T>> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<List<T>> parse(@NonNull final CharSequence value) {
+        if (!(value instanceof TokenRun run)) {
+            // A value which a command didn't distribute, such as one passed to the parser directly
+            final ParseResult<T> result = parser.parse(value);
+
+            return result.isSuccess()
+                ? ParseResult.success(Collections.singletonList(result.value()))
+                : ParseResult.failure(result.error());
+        }
+
+        final List<T> values = new ArrayList<>(run.size());
+
+        for (final CharSequence token : run) {
+            final ParseResult<T> result = parser.parse(token);
+
+            if (!result.isSuccess()) {
+                return ParseResult.failure(result.error());
+            }
+
+            values.add(result.value());
+        }
+
+        return ParseResult.success(Collections.unmodifiableList(values));
+    }
+}
@@ -1,28 +1,46 @@
 package tech.ixirsii.parse.event;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import tech.ixirsii.parse.command.ArgumentKey;
 import tech.ixirsii.parse.internal.ArgumentEvent;
+import tech.ixirsii.parse.internal.SlotIndex;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Command event.
  *
+ * <p>
+ * If the command was parsed lazily, each value is converted the first time it is read and then cached. A value which
+ * fails to convert reads as {@code null}.
+ *
  * @author Ryan Porterfield
  * @since 1.0.0
  */
-@RequiredArgsConstructor
 @Slf4j
 public class CommandEvent {
     /**
-     * Argument events.
+     * Argument event in each slot, or {@code null} if the argument wasn't passed.
+     */
+    private final ArgumentEvent<?>[] events;
+    /**
+     * Slots of the command's arguments, shared with every other event of the command.
+     */
+    private final SlotIndex index;
+
+    /**
+     * Constructor.
+     *
+     * @param events Argument event in each slot, or {@code null} if the argument wasn't passed.
+     * @param index  Slots of the command's arguments.
      */
-    private final Map<String, ArgumentEvent<?>> events;
+    public CommandEvent(@NonNull final ArgumentEvent<?>[] events, @NonNull final SlotIndex index) {
+        this.events = events;
+        this.index = index;
+    }
 
     /**
      * Get parsed argument value.
@@ -36,7 +54,7 @@ public class CommandEvent {
     public <T> T get(@NonNull final String name, @NonNull final Class<T> type) {
         log.trace("Getting {} as {}", name, type);
 
-        final ArgumentEvent<?> event = events.get(name);
+        final ArgumentEvent<?> event = event(name);
 
         if (event == null) {
             return null;
@@ -45,6 +63,174 @@ public class CommandEvent {
         }
     }
 
+    /**
+     * Get parsed argument value by key, without hashing its name.
+     *
+     * @param key Argument key from the command which produced this event.
+     * @param <T> Argument type.
+     * @return Parsed argument value or {@code null} if argument is not present or failed to parse.
+     * @throws IllegalArgumentException if the key belongs to a different command.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull final ArgumentKey<T> key) {
+        final ArgumentEvent<?> event = event(key);
+
+        // The event was created by the key's argument, so its value is a T
+        return event == null ? null : (T) event.parsedValue();
+    }
+
+    /**
+     * Get parsed boolean argument value without boxing it.
+     *
+     * @param name         Argument name.
+     * @param defaultValue Value to return if {@code name} is not present or failed to parse.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws ClassCastException if the argument is not a boolean.
+     */
+    public boolean getBoolean(@NonNull final String name, final boolean defaultValue) {
+        log.trace("Getting {} as boolean", name);
+
+        final ArgumentEvent<?> event = event(name);
+
+        if (event == null || !event.isSuccess()) {
+            return defaultValue;
+        } else {
+            return event.booleanValue();
+        }
+    }
+
+    /**
+     * Get parsed boolean argument value by key without boxing it.
+     *
+     * @param key          Argument key from the command which produced this event.
+     * @param defaultValue Value to return if the argument is not present or failed to parse.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws IllegalArgumentException if the key belongs to a different command.
+     */
+    public boolean getBoolean(@NonNull final ArgumentKey<Boolean> key, final boolean defaultValue) {
+        final ArgumentEvent<?> event = event(key);
+
+        if (event == null || !event.isSuccess()) {
+            return defaultValue;
+        } else {
+            return event.booleanValue();
+        }
+    }
+
+    /**
+     * Get parsed double argument value without boxing it.
+     *
+     * @param name         Argument name.
+     * @param defaultValue Value to return if {@code name} is not present or failed to parse.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws ClassCastException if the argument is not a double.
+     */
+    public double getDouble(@NonNull final String name, final double defaultValue) {
+        log.trace("Getting {} as double", name);
+
+        final ArgumentEvent<?> event = event(name);
+
+        if (event == null || !event.isSuccess()) {
+            return defaultValue;
+        } else {
+            return event.doubleValue();
+        }
+    }
+
+    /**
+     * Get parsed double argument value by key without boxing it.
+     *
+     * @param key          Argument key from the command which produced this event.
+     * @param defaultValue Value to return if the argument is not present or failed to parse.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws IllegalArgumentException if the key belongs to a different command.
+     */
+    public double getDouble(@NonNull final ArgumentKey<Double> key, final double defaultValue) {
+        final ArgumentEvent<?> event = event(key);
+
+        if (event == null || !event.isSuccess()) {
+            return defaultValue;
+        } else {
+            return event.doubleValue();
+        }
+    }
+
+    /**
+     * Get parsed integer argument value without boxing it.
+     *
+     * @param name         Argument name.
+     * @param defaultValue Value to return if {@code name} is not present or failed to parse.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws ClassCastException if the argument is not an integer.
+     */
+    public int getInt(@NonNull final String name, final int defaultValue) {
+        log.trace("Getting {} as int", name);
+
+        final ArgumentEvent<?> event = event(name);
+
+        if (event == null || !event.isSuccess()) {
+            return defaultValue;
+        } else {
+            return event.intValue();
+        }
+    }
+
+    /**
+     * Get parsed int argument value by key without boxing it.
+     *
+     * @param key          Argument key from the command which produced this event.
+     * @param defaultValue Value to return if the argument is not present or failed to parse.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws IllegalArgumentException if the key belongs to a different command.
+     */
+    public int getInt(@NonNull final ArgumentKey<Integer> key, final int defaultValue) {
+        final ArgumentEvent<?> event = event(key);
+
+        if (event == null || !event.isSuccess()) {
+            return defaultValue;
+        } else {
+            return event.intValue();
+        }
+    }
+
+    /**
+     * Get parsed long argument value without boxing it.
+     *
+     * @param name         Argument name.
+     * @param defaultValue Value to return if {@code name} is not present or failed to parse.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws ClassCastException if the argument is not a long.
+     */
+    public long getLong(@NonNull final String name, final long defaultValue) {
+        log.trace("Getting {} as long", name);
+
+        final ArgumentEvent<?> event = event(name);
+
+        if (event == null || !event.isSuccess()) {
+            return defaultValue;
+        } else {
+            return event.longValue();
+        }
+    }
+
+    /**
+     * Get parsed long argument value by key without boxing it.
+     *
+     * @param key          Argument key from the command which produced this event.
+     * @param defaultValue Value to return if the argument is not present or failed to parse.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws IllegalArgumentException if the key belongs to a different command.
+     */
+    public long getLong(@NonNull final ArgumentKey<Long> key, final long defaultValue) {
+        final ArgumentEvent<?> event = event(key);
+
+        if (event == null || !event.isSuccess()) {
+            return defaultValue;
+        } else {
+            return event.longValue();
+        }
+    }
+
     /**
      * Get parsed argument value.
      *
@@ -58,7 +244,7 @@ public class CommandEvent {
     public <T> T getOrDefault(@NonNull final String name, @NonNull final T defaultValue, @NonNull final Class<T> type) {
         log.trace("Getting {} as {} or default", name, type);
 
-        final ArgumentEvent<?> event = events.get(name);
+        final ArgumentEvent<?> event = event(name);
 
         if (event == null) {
             return defaultValue;
@@ -67,6 +253,21 @@ public class CommandEvent {
         }
     }
 
+    /**
+     * Get parsed argument value by key.
+     *
+     * @param key          Argument key from the command which produced this event.
+     * @param defaultValue Default value to return if the argument is not present.
+     * @param <T>          Argument type.
+     * @return Parsed argument value or {@code defaultValue}.
+     * @throws IllegalArgumentException if the key belongs to a different command.
+     */
+    public <T> T getOrDefault(@NonNull final ArgumentKey<T> key, @NonNull final T defaultValue) {
+        final T value = get(key);
+
+        return value == null ? defaultValue : value;
+    }
+
     /**
      * Get parsed argument value list.
      *
@@ -79,7 +280,7 @@ public class CommandEvent {
     public <T> List<T> getList(@NonNull final String name, @NonNull final Class<T> type) {
         log.trace("Getting {} as list of {}", name, type);
 
-        final ArgumentEvent<?> event = events.get(name);
+        final ArgumentEvent<?> event = event(name);
 
         if (event == null) {
             return Collections.emptyList();
@@ -97,4 +298,60 @@ public class CommandEvent {
                     + " not a list");
         }
     }
+
+    /**
+     * Parse every value which hasn't been parsed yet and check that they all parsed successfully.
+     *
+     * <p>
+     * Values are only deferred by {@link tech.ixirsii.parse.command.Command#parseLazily(List)}. Otherwise they were
+     * already checked when the command was parsed.
+     *
+     * @return {@code true} if every value parsed successfully, otherwise {@code false}.
+     */
+    public boolean validate() {
+        log.trace("Validating {} arguments", events.length);
+
+        boolean isValid = true;
+
+        for (int slot = 0; slot < events.length; ++slot) {
+            if (events[slot] != null && !events[slot].isSuccess()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Argument {} failed to parse: {}", index.name(slot), events[slot].errorMessage());
+                }
+
+                isValid = false;
+            }
+        }
+
+        return isValid;
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Get the event of an argument by name.
+     *
+     * @param name Argument name.
+     * @return Argument event or {@code null} if the argument is not present.
+     */
+    private ArgumentEvent<?> event(@NonNull final String name) {
+        final int slot = index.slot(name);
+
+        return slot == SlotIndex.NOT_FOUND ? null : events[slot];
+    }
+
+    /**
+     * Get the event of an argument by key.
+     *
+     * @param key Argument key.
+     * @return Argument event or {@code null} if the argument is not present.
+     * @throws IllegalArgumentException if the key belongs to a different command.
+     */
+    private ArgumentEvent<?> event(@NonNull final ArgumentKey<?> key) {
+        if (!index.holds(key.slot(), key.argument())) {
+            throw new IllegalArgumentException("Argument " + key + " isn't part of this command");
+        }
+
+        return events[key.slot()];
+    }
 }
@@ -0,0 +1,157 @@
+package tech.ixirsii.parse.event;
+
+import lombok.NonNull;
+import tech.ixirsii.parse.parser.ParseResult;
+import tech.ixirsii.parse.parser.Parser;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Values of a varargs argument which are parsed as they are read.
+ *
+ * <p>
+ * Only the input tokens are kept, so memory doesn't grow with the number of values, and each value is parsed every
+ * time it is read rather than cached. Iterating or streaming the values reads the input again, so the input must not
+ * be modified while the values are in use.
+ *
+ * @author Ryan Porterfield
+ * @param <T> Value type.
+ * @see tech.ixirsii.parse.command.PositionalArgument#varargs(String, String, Parser)
+ * @since 1.0.0
+ */
+public final class LazyValues<T> implements Iterable<T> {
+    /**
+     * Value parser.
+     */
+    private final Parser<T> parser;
+    /**
+     * Number of values.
+     */
+    private final int size;
+    /**
+     * Unparsed values.
+     */
+    private final Iterable<? extends CharSequence> tokens;
+
+    /**
+     * Constructor.
+     *
+     * @param tokens Unparsed values.
+     * @param size   Number of values.
+     * @param parser Value parser.
+     */
+    public LazyValues(
+        @NonNull final Iterable<? extends CharSequence> tokens,
+        final int size,
+        @NonNull final Parser<T> parser
+    ) {
+        this.parser = parser;
+        this.size = size;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Get values of a varargs argument which wasn't passed, such as the default of
+     * {@link CommandEvent#getOrDefault(tech.ixirsii.parse.command.ArgumentKey, Object)}.
+     *
+     * @param parser Value parser.
+     * @param <T>    Value type.
+     * @return Values with no elements.
+     */
+    public static <T> LazyValues<T> empty(@NonNull final Parser<T> parser) {
+        return new LazyValues<>(Collections.emptyList(), 0, parser);
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    /**
+     * Iterate over the values, parsing each one as it is read.
+     *
+     * @return Value iterator whose {@link Iterator#next()} throws {@link IllegalArgumentException} if the value fails
+     *         to parse.
+     */
+    @Override
+    public @NonNull Iterator<T> iterator() {
+        final Iterator<ParseResult<T>> results = resultIterator();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return results.hasNext();
+            }
+
+            @Override
+            public T next() {
+                final ParseResult<T> result = results.next();
+
+                if (!result.isSuccess()) {
+                    throw new IllegalArgumentException(result.errorMessage());
+                }
+
+                return result.value();
+            }
+        };
+    }
+
+    @Override
+    public @NonNull Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /* ********************************************* Public methods ********************************************* */
+
+    /**
+     * Stream the results of parsing each value, so that invalid values can be handled without exceptions.
+     *
+     * @return Sequential stream of parse results.
+     */
+    public @NonNull Stream<ParseResult<T>> results() {
+        return StreamSupport.stream(Spliterators.spliterator(resultIterator(), size, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Number of values, which doesn't parse them.
+     *
+     * @return Value count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stream the values, parsing each one as it is read.
+     *
+     * @return Sequential stream of values. A value which fails to parse throws {@link IllegalArgumentException}.
+     */
+    public @NonNull Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Iterate over the results of parsing each value.
+     *
+     * @return Parse result iterator.
+     */
+    private Iterator<ParseResult<T>> resultIterator() {
+        final Iterator<? extends CharSequence> iterator = tokens.iterator();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public ParseResult<T> next() {
+                return parser.parse(iterator.next());
+            }
+        };
+    }
+}
@@ -0,0 +1,525 @@
+package tech.ixirsii.parse.flow;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import tech.ixirsii.parse.command.Command;
+import tech.ixirsii.parse.command.CommandResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * {@link Flow.Processor} which parses a stream of command input with one {@link Command}.
+ *
+ * <p>
+ * Inputs are parsed concurrently on an {@link Executor}, but results are published in the order the inputs were
+ * received. Inputs are only requested from upstream while the subscriber has outstanding demand, and no more than
+ * {@link Builder#maxInFlight(int)} inputs are requested, being parsed or waiting to be published at once. A slow
+ * subscriber therefore throttles parsing without anything being buffered without bound.
+ *
+ * <p>
+ * A processor accepts one upstream subscription and one subscriber.
+ *
+ * @author Ryan Porterfield
+ * @param <T> Input type.
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CommandProcessor<T> implements Flow.Processor<T, CommandResult> {
+    /**
+     * Executor which runs parses.
+     */
+    private final Executor executor;
+    /**
+     * Guards the mutable state below. Not {@code synchronized} so virtual threads aren't pinned while waiting.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Maximum number of inputs requested, being parsed or waiting to be published.
+     */
+    private final int maxInFlight;
+    /**
+     * Function which parses an input.
+     */
+    private final Function<? super T, CommandResult> parser;
+    /**
+     * Inputs which have been received but not published, in the order they were received.
+     */
+    private final Deque<Slot> pending = new ArrayDeque<>();
+
+    /**
+     * Results requested by the subscriber but not yet published.
+     */
+    private long demand;
+    /**
+     * Subscriber.
+     */
+    private Flow.Subscriber<? super CommandResult> downstream;
+    /**
+     * Is a thread currently draining?
+     */
+    private boolean draining;
+    /**
+     * Error to publish, or {@code null} if there hasn't been one.
+     */
+    private Throwable failure;
+    /**
+     * Did state change while another thread was draining?
+     */
+    private boolean missed;
+    /**
+     * Has the subscriber been completed, failed or cancelled?
+     */
+    private boolean terminated;
+    /**
+     * Upstream subscription.
+     */
+    private Flow.Subscription upstream;
+    /**
+     * Has upstream completed or failed?
+     */
+    private boolean upstreamDone;
+    /**
+     * Inputs requested from upstream but not yet received.
+     */
+    private long upstreamRequested;
+
+    /**
+     * Constructor.
+     *
+     * @param builder Processor builder.
+     */
+    private CommandProcessor(@NonNull final Builder<T> builder) {
+        this.executor = builder.executor;
+        this.maxInFlight = builder.maxInFlight;
+        this.parser = builder.parser;
+    }
+
+    /**
+     * Create a builder for a processor which parses raw lines of input.
+     *
+     * @param command Command to parse with.
+     * @return New builder.
+     * @see Command#parse(CharSequence)
+     */
+    public static Builder<CharSequence> lines(@NonNull final Command command) {
+        return new Builder<>(command::parse);
+    }
+
+    /**
+     * Create a builder for a processor which parses input that has already been split.
+     *
+     * @param command Command to parse with.
+     * @return New builder.
+     * @see Command#parse(List)
+     */
+    public static Builder<List<String>> tokens(@NonNull final Command command) {
+        return new Builder<>(command::parse);
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+
+        try {
+            upstreamDone = true;
+        } finally {
+            lock.unlock();
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onError(@NonNull final Throwable throwable) {
+        log.debug("Upstream failed", throwable);
+
+        lock.lock();
+
+        try {
+            upstreamDone = true;
+
+            if (failure == null) {
+                failure = throwable;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onNext(@NonNull final T item) {
+        final Slot slot = new Slot();
+
+        lock.lock();
+
+        try {
+            if (terminated) {
+                return;
+            }
+
+            pending.add(slot);
+            --upstreamRequested;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            executor.execute(() -> parse(slot, item));
+        } catch (final RejectedExecutionException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onSubscribe(@NonNull final Flow.Subscription subscription) {
+        lock.lock();
+
+        try {
+            if (upstream != null) {
+                log.warn("Processor is already subscribed, cancelling new subscription");
+                subscription.cancel();
+                return;
+            }
+
+            upstream = subscription;
+        } finally {
+            lock.unlock();
+        }
+
+        drain();
+    }
+
+    @Override
+    public void subscribe(@NonNull final Flow.Subscriber<? super CommandResult> subscriber) {
+        final boolean isAccepted;
+
+        lock.lock();
+
+        try {
+            isAccepted = downstream == null;
+
+            if (isAccepted) {
+                downstream = subscriber;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (isAccepted) {
+            subscriber.onSubscribe(new ResultSubscription());
+            drain();
+        } else {
+            subscriber.onSubscribe(new RejectedSubscription());
+            subscriber.onError(new IllegalStateException("Processor only supports one subscriber"));
+        }
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Publish completed results, request more input and signal termination as far as the current state allows.
+     *
+     * <p>
+     * Only one thread drains at a time. A thread which finds another thread draining marks the state as changed so
+     * that the draining thread loops again instead.
+     */
+    private void drain() {
+        lock.lock();
+
+        if (draining) {
+            missed = true;
+            lock.unlock();
+            return;
+        }
+
+        draining = true;
+
+        while (true) {
+            final Flow.Subscriber<? super CommandResult> subscriber = downstream;
+
+            if (terminated || subscriber == null) {
+                draining = false;
+                lock.unlock();
+                return;
+            }
+
+            if (failure != null) {
+                final Throwable throwable = failure;
+
+                terminated = true;
+                pending.clear();
+                draining = false;
+                lock.unlock();
+                subscriber.onError(throwable);
+                return;
+            }
+
+            final Slot head = pending.peek();
+
+            if (demand > 0 && head != null && head.result != null) {
+                pending.poll();
+                --demand;
+                lock.unlock();
+                subscriber.onNext(head.result);
+                lock.lock();
+                continue;
+            }
+
+            if (upstreamDone && pending.isEmpty()) {
+                terminated = true;
+                draining = false;
+                lock.unlock();
+                subscriber.onComplete();
+                return;
+            }
+
+            final long request = Math.min(maxInFlight, demand) - pending.size() - upstreamRequested;
+
+            if (request > 0 && upstream != null && !upstreamDone) {
+                final Flow.Subscription subscription = upstream;
+
+                upstreamRequested += request;
+                lock.unlock();
+                subscription.request(request);
+                lock.lock();
+                continue;
+            }
+
+            if (!missed) {
+                draining = false;
+                lock.unlock();
+                return;
+            }
+
+            missed = false;
+        }
+    }
+
+    /**
+     * Fail the processor, cancelling upstream.
+     *
+     * @param throwable Cause of the failure.
+     */
+    private void fail(@NonNull final Throwable throwable) {
+        log.error("Command processor failed", throwable);
+
+        final Flow.Subscription subscription;
+
+        lock.lock();
+
+        try {
+            if (failure == null) {
+                failure = throwable;
+            }
+
+            upstreamDone = true;
+            subscription = upstream;
+        } finally {
+            lock.unlock();
+        }
+
+        if (subscription != null) {
+            subscription.cancel();
+        }
+
+        drain();
+    }
+
+    /**
+     * Parse an input and publish it once every earlier input has been published.
+     *
+     * @param slot Slot the input was received in.
+     * @param item Input.
+     */
+    private void parse(@NonNull final Slot slot, @NonNull final T item) {
+        final CommandResult result;
+
+        try {
+            result = parser.apply(item);
+        } catch (final RuntimeException e) {
+            fail(e);
+            return;
+        }
+
+        lock.lock();
+
+        try {
+            slot.result = result;
+        } finally {
+            lock.unlock();
+        }
+
+        drain();
+    }
+
+    /* ********************************************* Nested classes ********************************************* */
+
+    /**
+     * Position of an input in the output order.
+     */
+    private static final class Slot {
+        /**
+         * Parse result, or {@code null} while the input is being parsed.
+         */
+        private CommandResult result;
+    }
+
+    /**
+     * Subscription given to a subscriber after the first, which does nothing.
+     */
+    private static final class RejectedSubscription implements Flow.Subscription {
+        @Override
+        public void cancel() {
+            // Nothing to cancel
+        }
+
+        @Override
+        public void request(final long n) {
+            // Nothing will be published
+        }
+    }
+
+    /**
+     * Subscription given to the subscriber.
+     */
+    private final class ResultSubscription implements Flow.Subscription {
+        @Override
+        public void cancel() {
+            final Flow.Subscription subscription;
+
+            lock.lock();
+
+            try {
+                terminated = true;
+                upstreamDone = true;
+                pending.clear();
+                subscription = upstream;
+            } finally {
+                lock.unlock();
+            }
+
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested " + n + " results, but must request at least 1"));
+                return;
+            }
+
+            lock.lock();
+
+            try {
+                demand += n;
+
+                if (demand < 0) {
+                    // Overflowed, treat as unbounded
+                    demand = Long.MAX_VALUE;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            drain();
+        }
+    }
+
+    /**
+     * {@link CommandProcessor} builder.
+     *
+     * @author Ryan Porterfield
+     * @param <T> Input type.
+     * @since 1.0.0
+     */
+    public static final class Builder<T> {
+        /**
+         * Function which parses an input.
+         */
+        private final Function<? super T, CommandResult> parser;
+        /**
+         * Executor which runs parses.
+         */
+        private Executor executor = ForkJoinPool.commonPool();
+        /**
+         * Maximum number of inputs in flight.
+         */
+        private int maxInFlight = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Constructor.
+         *
+         * @param parser Function which parses an input.
+         */
+        private Builder(@NonNull final Function<? super T, CommandResult> parser) {
+            this.parser = parser;
+        }
+
+        /**
+         * Set the executor which runs parses. Defaults to the common fork/join pool.
+         *
+         * @param executor Executor.
+         * @return This builder.
+         */
+        public Builder<T> executor(@NonNull final Executor executor) {
+            this.executor = executor;
+
+            return this;
+        }
+
+        /**
+         * Set the maximum number of inputs requested, being parsed or waiting to be published at once. Defaults to
+         * the number of available processors.
+         *
+         * @param maxInFlight Maximum number of inputs in flight.
+         * @return This builder.
+         * @throws IllegalArgumentException if {@code maxInFlight} is less than 1.
+         */
+        public Builder<T> maxInFlight(final int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("At least one input must be allowed in flight");
+            }
+
+            this.maxInFlight = maxInFlight;
+
+            return this;
+        }
+
+        /**
+         * Run each parse on a new virtual thread.
+         *
+         * @return This builder.
+         */
+        public Builder<T> virtualThreads() {
+            final ThreadFactory factory = Thread.ofVirtual().name("command-processor-", 0).factory();
+
+            this.executor = runnable -> factory.newThread(runnable).start();
+
+            return this;
+        }
+
+        /**
+         * Build the processor.
+         *
+         * @return New processor.
+         */
+        public CommandProcessor<T> build() {
+            return new CommandProcessor<>(this);
+        }
+    }
+}
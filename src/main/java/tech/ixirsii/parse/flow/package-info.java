@@ -0,0 +1,4 @@
+/**
+ * Reactive parsing of command streams.
+ */
+package tech.ixirsii.parse.flow;
@@ -1,23 +1,348 @@
 package tech.ixirsii.parse.internal;
 
 import lombok.NonNull;
+import tech.ixirsii.parse.parser.ParseError;
+import tech.ixirsii.parse.parser.ParseResult;
+import tech.ixirsii.parse.parser.Parser;
+import tech.ixirsii.parse.parser.PrimitiveParser;
+import tech.ixirsii.parse.parser.PrimitiveSink;
 
 /**
  * Argument internal.
  *
+ * <p>
+ * An event is either created with its parsed value, or deferred with the parser which will convert its value the
+ * first time the value is read. The result of a deferred parse is cached. Parsers are stateless, so if two threads
+ * race to resolve a deferred event they compute equal results and either may be kept.
+ *
+ * <p>
+ * Values from a {@link PrimitiveParser} are stored in a primitive slot and only boxed if they are read through
+ * {@link #parsedValue()}.
+ *
  * @author Ryan Porterfield
- * @param name Optional name of argument or empty string.
- * @param value Argument value.
- * @param parsedValue Parsed value if successful, otherwise {@code null}.
- * @param isSuccess Was parsing successful?
- * @param errorMessage Error message if parsing was not successful, otherwise empty string.
  * @param <T> Type of parsed value.
  * @since 1.0.0
  */
-public record ArgumentEvent<T>(
-        @NonNull String name,
-        @NonNull String value,
-        T parsedValue,
-        boolean isSuccess,
-        @NonNull String errorMessage) {
+public final class ArgumentEvent<T> implements PrimitiveSink {
+    /**
+     * Optional name of argument or empty string.
+     */
+    private CharSequence name;
+    /**
+     * Parser for a deferred value, or {@code null} if the value was parsed when the event was created.
+     */
+    private final Parser<T> parser;
+    /**
+     * Argument value. Usually a {@link TextSlice} of the input, so it is only copied if it is read.
+     */
+    private CharSequence value;
+    /**
+     * Primitive value. Doubles are stored as their raw bits.
+     */
+    private long bits;
+    /**
+     * Reason parsing failed, or {@code null} if parsing was successful or hasn't happened yet.
+     */
+    private ParseError error;
+    /**
+     * Was parsing successful?
+     */
+    private boolean isSuccess;
+    /**
+     * Type of the value in {@link #bits}, or {@link Slot#OBJECT} if the value is in {@link #object}.
+     */
+    private Slot slot = Slot.OBJECT;
+    /**
+     * Boxed value.
+     */
+    private T object;
+    /**
+     * Has the value been parsed? Written last so that the other fields are visible to threads which see it set.
+     */
+    private volatile boolean isResolved;
+
+    /**
+     * Constructor for an argument which has already been parsed.
+     *
+     * @param name   Optional name of argument or empty string.
+     * @param value  Argument value.
+     * @param result Parse result.
+     */
+    public ArgumentEvent(
+        @NonNull final CharSequence name,
+        @NonNull final CharSequence value,
+        @NonNull final ParseResult<T> result
+    ) {
+        this.name = name;
+        this.parser = null;
+        this.value = value;
+        this.object = result.value();
+        this.isSuccess = result.isSuccess();
+        this.error = result.error();
+        this.isResolved = true;
+    }
+
+    /**
+     * Constructor for an argument which is parsed later.
+     *
+     * @param name   Optional name of argument or empty string.
+     * @param value  Argument value.
+     * @param parser Parser which converts the value.
+     * @see #resolve()
+     */
+    public ArgumentEvent(
+        @NonNull final CharSequence name,
+        @NonNull final CharSequence value,
+        @NonNull final Parser<T> parser
+    ) {
+        this.name = name;
+        this.parser = parser;
+        this.value = value;
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @Override
+    public void fail(@NonNull final ParseError parseError) {
+        error = parseError;
+        isSuccess = false;
+    }
+
+    @Override
+    public void setBoolean(final boolean parsed) {
+        store(Slot.BOOLEAN, parsed ? 1L : 0L);
+    }
+
+    @Override
+    public void setDouble(final double parsed) {
+        store(Slot.DOUBLE, Double.doubleToRawLongBits(parsed));
+    }
+
+    @Override
+    public void setInt(final int parsed) {
+        store(Slot.INT, parsed);
+    }
+
+    @Override
+    public void setLong(final long parsed) {
+        store(Slot.LONG, parsed);
+    }
+
+    /* ********************************************* Public methods ********************************************* */
+
+    /**
+     * Get the value as a {@code boolean}, parsing it if it was deferred.
+     *
+     * @return Parsed value.
+     * @throws ClassCastException if the value isn't a boolean.
+     */
+    public boolean booleanValue() {
+        resolve();
+
+        return slot == Slot.BOOLEAN ? bits != 0 : (Boolean) parsedValue();
+    }
+
+    /**
+     * Get the value as a {@code double}, parsing it if it was deferred.
+     *
+     * @return Parsed value.
+     * @throws ClassCastException if the value isn't a double.
+     */
+    public double doubleValue() {
+        resolve();
+
+        return slot == Slot.DOUBLE ? Double.longBitsToDouble(bits) : (Double) parsedValue();
+    }
+
+    /**
+     * Get the reason parsing failed, parsing the value if it was deferred.
+     *
+     * @return Parse error if parsing was not successful, otherwise {@code null}.
+     */
+    public ParseError error() {
+        resolve();
+
+        return error;
+    }
+
+    /**
+     * Get the error message, parsing the value if it was deferred. The message is formatted each time it is read.
+     *
+     * @return Error message if parsing was not successful, otherwise empty string.
+     */
+    public @NonNull String errorMessage() {
+        resolve();
+
+        return error == null ? "" : error.message();
+    }
+
+    /**
+     * Get the value as an {@code int}, parsing it if it was deferred.
+     *
+     * @return Parsed value.
+     * @throws ClassCastException if the value isn't an integer.
+     */
+    public int intValue() {
+        resolve();
+
+        return slot == Slot.INT ? (int) bits : (Integer) parsedValue();
+    }
+
+    /**
+     * Check if the value has been parsed.
+     *
+     * @return {@code true} if the value was parsed eagerly or has already been read, otherwise {@code false}.
+     */
+    public boolean isResolved() {
+        return isResolved;
+    }
+
+    /**
+     * Check if parsing was successful, parsing the value if it was deferred.
+     *
+     * @return {@code true} if the value was parsed successfully, otherwise {@code false}.
+     */
+    public boolean isSuccess() {
+        resolve();
+
+        return isSuccess;
+    }
+
+    /**
+     * Get the value as a {@code long}, parsing it if it was deferred.
+     *
+     * @return Parsed value.
+     * @throws ClassCastException if the value isn't a long.
+     */
+    public long longValue() {
+        resolve();
+
+        return slot == Slot.LONG ? bits : (Long) parsedValue();
+    }
+
+    /**
+     * Get the optional name of the argument.
+     *
+     * @return Argument name as passed or empty string.
+     */
+    public @NonNull CharSequence name() {
+        return name;
+    }
+
+    /**
+     * Get the parsed value, parsing it if it was deferred. Primitive values are boxed.
+     *
+     * @return Parsed value if successful, otherwise {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public T parsedValue() {
+        resolve();
+
+        if (!isSuccess) {
+            return null;
+        }
+
+        return switch (slot) {
+            case BOOLEAN -> (T) Boolean.valueOf(bits != 0);
+            case DOUBLE -> (T) Double.valueOf(Double.longBitsToDouble(bits));
+            case INT -> (T) Integer.valueOf((int) bits);
+            case LONG -> (T) Long.valueOf(bits);
+            case OBJECT -> object;
+        };
+    }
+
+    /**
+     * Parse the value now if it was deferred.
+     */
+    public void resolve() {
+        if (isResolved) {
+            return;
+        }
+
+        if (parser instanceof PrimitiveParser<T> primitiveParser) {
+            primitiveParser.parseInto(value, this);
+        } else {
+            final ParseResult<T> result = parser.parse(value);
+
+            object = result.value();
+            isSuccess = result.isSuccess();
+            error = result.error();
+        }
+
+        isResolved = true;
+    }
+
+    /**
+     * Reuse a deferred event for a new value, discarding the old value and any parse result.
+     *
+     * <p>
+     * Only for events owned by one thread, such as the events of a reusable parse context.
+     *
+     * @param newName  Optional name of argument or empty string.
+     * @param newValue Argument value.
+     * @throws IllegalStateException if the event wasn't created with a parser.
+     */
+    public void reset(@NonNull final CharSequence newName, @NonNull final CharSequence newValue) {
+        if (parser == null) {
+            throw new IllegalStateException("Only deferred events can be reused");
+        }
+
+        name = newName;
+        value = newValue;
+        bits = 0;
+        error = null;
+        isSuccess = false;
+        slot = Slot.OBJECT;
+        object = null;
+        isResolved = false;
+    }
+
+    /**
+     * Get the raw argument value.
+     *
+     * @return Argument value.
+     */
+    public @NonNull CharSequence value() {
+        return value;
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Store a successfully parsed primitive.
+     *
+     * @param type   Primitive type.
+     * @param parsed Primitive value.
+     */
+    private void store(@NonNull final Slot type, final long parsed) {
+        slot = type;
+        bits = parsed;
+        isSuccess = true;
+    }
+
+    /**
+     * Type of value held by an event.
+     */
+    private enum Slot {
+        /**
+         * {@code boolean} in {@code bits}.
+         */
+        BOOLEAN,
+        /**
+         * {@code double} in {@code bits}.
+         */
+        DOUBLE,
+        /**
+         * {@code int} in {@code bits}.
+         */
+        INT,
+        /**
+         * {@code long} in {@code bits}.
+         */
+        LONG,
+        /**
+         * Boxed value in {@code object}.
+         */
+        OBJECT,
+    }
 }
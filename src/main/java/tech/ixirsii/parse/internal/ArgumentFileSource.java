@@ -0,0 +1,424 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link TokenSource} which replaces each {@code @file} token of another source with the tokens of the file, like
+ * the response files of javac and gcc.
+ *
+ * <p>
+ * Argument files are memory-mapped and split on whitespace a line at a time as they are read (see
+ * {@link MappedTokenizer}), with the same quoting as a {@link LineTokenizer}, so a large file is never decoded up front
+ * or copied into a string or a list of tokens. Argument
+ * files may refer to other argument files. Relative paths are resolved against the working directory. The source
+ * reads one token ahead, opening argument files as it reaches them.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class ArgumentFileSource implements TokenSource {
+    /**
+     * Prefix of a token which refers to an argument file.
+     */
+    public static final char PREFIX = '@';
+
+    /**
+     * Sources being read, with the file being read most recently first and the original source last.
+     */
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    /**
+     * Sources to read from the start, with the original source first. More than one after {@link #rest()}.
+     */
+    private final List<Frame> initial;
+    /**
+     * Mapped contents of each argument file by real path, so that counting and rewinding don't map files again.
+     */
+    private final Map<Path, MappedText> mapped = new HashMap<>();
+    /**
+     * Real paths of the argument files being read.
+     */
+    private final Set<Path> open = new HashSet<>();
+
+    /**
+     * Total number of tokens, or -1 if they haven't been counted yet.
+     */
+    private int count = -1;
+    /**
+     * End of the current token.
+     */
+    private int end = -1;
+    /**
+     * Is there a token after the current token?
+     */
+    private boolean hasNext;
+    /**
+     * Index of the current token in its input.
+     */
+    private int index = -1;
+    /**
+     * Input of the current token.
+     */
+    private Object input;
+    /**
+     * Number of tokens before the current token.
+     */
+    private int position = -1;
+    /**
+     * Start of the current token.
+     */
+    private int start = -1;
+    /**
+     * Text containing the current token.
+     */
+    private CharSequence text = "";
+
+    /**
+     * Constructor.
+     *
+     * @param source Source whose {@code @file} tokens are expanded.
+     * @throws UncheckedIOException     if an argument file can't be read or isn't valid UTF-8.
+     * @throws IllegalArgumentException if an argument file refers to itself.
+     */
+    public ArgumentFileSource(@NonNull final TokenSource source) {
+        this(List.of(new Frame(source, null)), Map.of());
+    }
+
+    /**
+     * Constructor for sources which are partway through argument files.
+     *
+     * @param initial Sources to read from the start, with the original source first.
+     * @param mapped  Argument files which have already been mapped, by real path.
+     */
+    private ArgumentFileSource(@NonNull final List<Frame> initial, @NonNull final Map<Path, MappedText> mapped) {
+        this.initial = initial;
+        this.mapped.putAll(mapped);
+
+        restart();
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @Override
+    public int end() {
+        return end;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public @NonNull Object input() {
+        return input;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException     if an argument file can't be read or isn't valid UTF-8.
+     * @throws IllegalArgumentException if an argument file refers to itself.
+     */
+    @Override
+    public boolean next() {
+        if (!hasNext) {
+            return false;
+        }
+
+        final TokenSource source = frames.getFirst().source();
+
+        end = source.end();
+        index = source.index();
+        input = source.input();
+        start = source.start();
+        text = source.text();
+        ++position;
+
+        prime();
+
+        return true;
+    }
+
+    @Override
+    public boolean nextStartsWith(final char c) {
+        if (!hasNext) {
+            return false;
+        }
+
+        final TokenSource source = frames.getFirst().source();
+
+        return source.end() > source.start() && source.text().charAt(source.start()) == c;
+    }
+
+    @Override
+    public @NonNull CharSequence peek() {
+        return hasNext ? frames.getFirst().source().slice() : "";
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The first call reads the rest of every open argument file, and any they refer to, to count their tokens.
+     *
+     * @throws UncheckedIOException     if an argument file can't be read or isn't valid UTF-8.
+     * @throws IllegalArgumentException if an argument file refers to itself.
+     */
+    @Override
+    public int remaining() {
+        if (count < 0) {
+            count = position + 1;
+
+            if (hasNext) {
+                final Set<Path> including = new HashSet<>();
+                final Iterator<Frame> outermostFirst = frames.descendingIterator();
+
+                // The next token has already been read from the first frame
+                ++count;
+
+                while (outermostFirst.hasNext()) {
+                    final Frame frame = outermostFirst.next();
+
+                    // A file may be read again once it is closed, so only the files including this frame are open
+                    if (frame.path() != null) {
+                        including.add(frame.path());
+                    }
+
+                    count += count(frame.source().rest(), including);
+                }
+            }
+        }
+
+        return count - position - 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The new source is a snapshot of the open argument files: it reads the rest of each of them, innermost first, so
+     * it can be read and rewound without moving this source.
+     *
+     * @throws UncheckedIOException     if an argument file can't be read or isn't valid UTF-8.
+     * @throws IllegalArgumentException if an argument file refers to itself.
+     */
+    @Override
+    public @NonNull TokenSource rest() {
+        final List<Frame> rest = new ArrayList<>(frames.size() + 1);
+        final Iterator<Frame> outermostFirst = frames.descendingIterator();
+
+        while (outermostFirst.hasNext()) {
+            final Frame frame = outermostFirst.next();
+
+            rest.add(new Frame(frame.source().rest(), frame.path()));
+        }
+
+        if (hasNext) {
+            // The next token has already been read from the first frame, so the rest of that frame starts after it
+            rest.add(new Frame(new ListTokenSource(List.of(frames.getFirst().source().slice().toString())), null));
+        }
+
+        return new ArgumentFileSource(rest, mapped);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException     if an argument file can't be read or isn't valid UTF-8.
+     * @throws IllegalArgumentException if an argument file refers to itself.
+     */
+    @Override
+    public void rewind() {
+        for (final Frame frame : initial) {
+            frame.source().rewind();
+        }
+
+        restart();
+    }
+
+    @Override
+    public @NonNull CharSequence slice() {
+        // Split input holds each token as a whole string, so it can be shared instead of sliced
+        return input instanceof List<?> ? text : new TextSlice(text, start, end);
+    }
+
+    @Override
+    public int start() {
+        return start;
+    }
+
+    @Override
+    public @NonNull CharSequence text() {
+        return text;
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Count the tokens of a source, expanding argument files.
+     *
+     * @param source    Source to count.
+     * @param including Real paths of the argument files which include {@code source}.
+     * @return Number of tokens.
+     */
+    private int count(@NonNull final TokenSource source, @NonNull final Set<Path> including) {
+        int tokens = 0;
+
+        while (source.next()) {
+            if (isReference(source)) {
+                final Path path = enter(source, including);
+
+                tokens += count(new MappedTokenizer(map(path)), including);
+                including.remove(path);
+            } else {
+                ++tokens;
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Resolve the argument file the current token of a source refers to, and mark it as open.
+     *
+     * @param source    Source at a {@code @file} token.
+     * @param including Real paths of the open argument files.
+     * @return Real path of the argument file.
+     * @throws UncheckedIOException     if the argument file doesn't exist.
+     * @throws IllegalArgumentException if the argument file is already open.
+     */
+    private static Path enter(@NonNull final TokenSource source, @NonNull final Set<Path> including) {
+        final CharSequence name = StringSplitter.unquote(source.text(), source.start() + 1, source.end());
+        final Path path;
+
+        try {
+            path = Path.of(name.toString()).toRealPath();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Can't read argument file " + name, e);
+        }
+
+        if (!including.add(path)) {
+            throw new IllegalArgumentException("Argument file " + path + " refers to itself");
+        }
+
+        return path;
+    }
+
+    /**
+     * Check if the current token of a source refers to an argument file.
+     *
+     * @param source Token source.
+     * @return {@code true} if the token is {@code @file}, otherwise {@code false}.
+     */
+    private static boolean isReference(@NonNull final TokenSource source) {
+        return source.end() - source.start() > 1 && source.text().charAt(source.start()) == PREFIX;
+    }
+
+    /**
+     * Get an argument file, mapping it the first time.
+     *
+     * @param path Real path of the argument file.
+     * @return Mapped file.
+     * @throws UncheckedIOException if the file can't be read.
+     */
+    private MappedText map(@NonNull final Path path) {
+        MappedText contents = mapped.get(path);
+
+        if (contents == null) {
+            try {
+                contents = MappedText.map(path);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Can't read argument file " + path, e);
+            }
+
+            mapped.put(path, contents);
+        }
+
+        return contents;
+    }
+
+    /**
+     * Read ahead to the next token, opening and closing argument files as they are reached.
+     *
+     * @throws UncheckedIOException     if an argument file can't be read or isn't valid UTF-8.
+     * @throws IllegalArgumentException if an argument file refers to itself.
+     */
+    private void prime() {
+        while (true) {
+            final Frame frame = frames.getFirst();
+            final TokenSource source = frame.source();
+
+            if (!source.next()) {
+                if (frames.size() == 1) {
+                    hasNext = false;
+                    return;
+                }
+
+                open.remove(frames.removeFirst().path());
+            } else if (isReference(source)) {
+                final Path path = enter(source, open);
+
+                frames.addFirst(new Frame(new MappedTokenizer(map(path)), path));
+            } else {
+                hasNext = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Go back to the initial sources and read ahead to the first token.
+     *
+     * @throws UncheckedIOException     if an argument file can't be read or isn't valid UTF-8.
+     * @throws IllegalArgumentException if an argument file refers to itself.
+     */
+    private void restart() {
+        frames.clear();
+        open.clear();
+
+        for (final Frame frame : initial) {
+            frames.addFirst(frame);
+
+            if (frame.path() != null) {
+                open.add(frame.path());
+            }
+        }
+
+        count = -1;
+        end = -1;
+        index = -1;
+        input = initial.getFirst().source().input();
+        position = -1;
+        start = -1;
+        text = "";
+
+        prime();
+    }
+
+    /**
+     * Source being read.
+     *
+     * @param source Token source.
+     * @param path   Real path of the argument file, or {@code null} for the original source.
+     */
+    private record Frame(TokenSource source, Path path) {
+    }
+}
@@ -0,0 +1,382 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded, thread safe cache with optional frequency-based admission and expiry.
+ *
+ * <p>
+ * The cache is split into independently locked segments, chosen by the hash of the key, so threads rarely wait for
+ * each other. Values are computed by the caller outside the lock, then {@link #put(Object, Object) put}. Without
+ * frequency admission the least recently used entry is evicted. With it, new entries wait in a small LRU window and
+ * are only admitted to the main cache if a {@link FrequencySketch} has seen them more often than the entry they would
+ * evict (W-TinyLFU), which keeps popular keys cached when a burst of one-off keys passes through.
+ *
+ * @author Ryan Porterfield
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @since 1.0.0
+ */
+public final class BoundedCache<K, V> {
+    /**
+     * Fewest entries worth giving a segment of their own.
+     */
+    private static final int MIN_SEGMENT_SIZE = 16;
+    /**
+     * Percentage of a segment used as the admission window.
+     */
+    private static final int WINDOW_PERCENT = 1;
+
+    /**
+     * Entries removed to make room or because they expired.
+     */
+    private final LongAdder evictions = new LongAdder();
+    /**
+     * Nanoseconds an entry stays valid after it is written, or {@code 0} if entries don't expire.
+     */
+    private final long expireAfterWriteNanos;
+    /**
+     * Lookups which found a valid entry.
+     */
+    private final LongAdder hits = new LongAdder();
+    /**
+     * Lookups which didn't find a valid entry.
+     */
+    private final LongAdder misses = new LongAdder();
+    /**
+     * Segments, a power of two of them.
+     */
+    private final Segment[] segments;
+    /**
+     * Source of the current time in nanoseconds.
+     */
+    private final LongSupplier ticker;
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize           Maximum number of entries.
+     * @param isFrequencyAdmitted   Admit new entries by frequency (W-TinyLFU) rather than always (LRU)?
+     * @param expireAfterWriteNanos Nanoseconds an entry stays valid after it is written, or {@code 0} for never.
+     * @param ticker                Source of the current time in nanoseconds.
+     * @throws IllegalArgumentException if {@code maximumSize} isn't positive or the expiry is negative.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public BoundedCache(
+        final int maximumSize,
+        final boolean isFrequencyAdmitted,
+        final long expireAfterWriteNanos,
+        @NonNull final LongSupplier ticker
+    ) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive but was " + maximumSize);
+        } else if (expireAfterWriteNanos < 0) {
+            throw new IllegalArgumentException("Expiry must not be negative but was " + expireAfterWriteNanos);
+        }
+
+        int count = 1;
+
+        while (count < Runtime.getRuntime().availableProcessors() && (long) count * 2 * MIN_SEGMENT_SIZE
+                <= maximumSize) {
+            count <<= 1;
+        }
+
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        // Arrays of an inner class of a generic class can only be created raw
+        this.segments = new BoundedCache.Segment[count];
+        this.ticker = ticker;
+
+        for (int i = 0; i < count; ++i) {
+            // Spread the remainder so the segments add up to exactly the maximum size
+            final int capacity = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+
+            segments[i] = new Segment(capacity, isFrequencyAdmitted);
+        }
+    }
+
+    /**
+     * Number of entries removed to make room or because they expired.
+     *
+     * @return Eviction count.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Look up a valid value, removing it if it has expired.
+     *
+     * @param key Key.
+     * @return Cached value, or {@code null} if there isn't a valid one.
+     */
+    public V get(@NonNull final K key) {
+        final int hash = spread(key.hashCode());
+        final V value = segment(hash).get(key, hash);
+
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+
+        return value;
+    }
+
+    /**
+     * Number of lookups which found a valid entry.
+     *
+     * @return Hit count.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups which didn't find a valid entry.
+     *
+     * @return Miss count.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Cache a value, evicting an entry if its segment is full. A value computed by two threads at once is replaced.
+     *
+     * @param key   Key.
+     * @param value Value.
+     */
+    public void put(@NonNull final K key, @NonNull final V value) {
+        final int hash = spread(key.hashCode());
+
+        segment(hash).put(key, value);
+    }
+
+    /**
+     * Number of cached entries, including expired entries which haven't been removed yet.
+     *
+     * @return Entry count.
+     */
+    public int size() {
+        int size = 0;
+
+        for (final Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Get the segment of a hash.
+     *
+     * @param hash Spread key hash.
+     * @return Segment.
+     */
+    private Segment segment(final int hash) {
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * Spread the high bits of a hash into the low bits, which pick the segment.
+     *
+     * @param hash Key hash.
+     * @return Spread hash.
+     */
+    private static int spread(final int hash) {
+        final int h = hash * 0x9e37_79b9;
+
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Cached value.
+     *
+     * @param value     Value.
+     * @param writtenAt Time the value was cached, in nanoseconds.
+     * @param <V>       Value type.
+     */
+    private record Entry<V>(V value, long writtenAt) {
+    }
+
+    /**
+     * Independently locked part of the cache.
+     */
+    private final class Segment {
+        /**
+         * Guards the maps and sketch. Not {@code synchronized} so virtual threads aren't pinned while waiting.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+        /**
+         * Main cache in least to most recently used order.
+         */
+        private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+        /**
+         * Maximum entries in {@link #main}.
+         */
+        private final int mainCapacity;
+        /**
+         * Usage frequencies, or {@code null} without frequency admission.
+         */
+        private final FrequencySketch sketch;
+        /**
+         * Admission window in least to most recently used order, or {@code null} without frequency admission.
+         */
+        private final LinkedHashMap<K, Entry<V>> window;
+        /**
+         * Maximum entries in {@link #window}.
+         */
+        private final int windowCapacity;
+
+        /**
+         * Constructor.
+         *
+         * @param capacity            Maximum entries in the segment.
+         * @param isFrequencyAdmitted Admit new entries by frequency?
+         */
+        private Segment(final int capacity, final boolean isFrequencyAdmitted) {
+            if (!isFrequencyAdmitted || capacity < 2) {
+                this.mainCapacity = capacity;
+                this.sketch = null;
+                this.window = null;
+                this.windowCapacity = 0;
+            } else {
+                this.windowCapacity = Math.max(1, capacity * WINDOW_PERCENT / 100);
+                this.mainCapacity = capacity - windowCapacity;
+                this.sketch = new FrequencySketch(capacity);
+                this.window = new LinkedHashMap<>(16, 0.75f, true);
+            }
+        }
+
+        /**
+         * Look up a valid value, removing it if it has expired.
+         *
+         * @param key  Key.
+         * @param hash Spread key hash.
+         * @return Cached value, or {@code null} if there isn't a valid one.
+         */
+        private V get(@NonNull final K key, final int hash) {
+            lock.lock();
+
+            try {
+                if (sketch != null) {
+                    sketch.increment(hash);
+                }
+
+                Map<K, Entry<V>> owner = main;
+                Entry<V> entry = main.get(key);
+
+                if (entry == null && window != null) {
+                    owner = window;
+                    entry = window.get(key);
+                }
+
+                if (entry == null) {
+                    return null;
+                } else if (isExpired(entry)) {
+                    owner.remove(key);
+                    evictions.increment();
+
+                    return null;
+                } else {
+                    return entry.value();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Check if an entry has expired.
+         *
+         * @param entry Cached entry.
+         * @return {@code true} if the entry has expired, otherwise {@code false}.
+         */
+        private boolean isExpired(@NonNull final Entry<V> entry) {
+            return expireAfterWriteNanos > 0 && ticker.getAsLong() - entry.writtenAt() >= expireAfterWriteNanos;
+        }
+
+        /**
+         * Cache a value, evicting an entry if the segment is full.
+         *
+         * @param key   Key.
+         * @param value Value.
+         */
+        private void put(@NonNull final K key, @NonNull final V value) {
+            final Entry<V> entry = new Entry<>(value, expireAfterWriteNanos > 0 ? ticker.getAsLong() : 0);
+
+            lock.lock();
+
+            try {
+                if (main.containsKey(key)) {
+                    // Another thread computed the same key first
+                    main.put(key, entry);
+                } else if (window == null) {
+                    main.put(key, entry);
+
+                    while (main.size() > mainCapacity) {
+                        main.remove(main.keySet().iterator().next());
+                        evictions.increment();
+                    }
+                } else {
+                    window.put(key, entry);
+
+                    if (window.size() > windowCapacity) {
+                        admit(window.entrySet().iterator().next());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Move the eldest window entry into the main cache if it is used more often than the entry it would evict.
+         *
+         * @param candidate Eldest window entry.
+         */
+        private void admit(@NonNull final Map.Entry<K, Entry<V>> candidate) {
+            final K key = candidate.getKey();
+            final Entry<V> entry = candidate.getValue();
+
+            window.remove(key);
+
+            if (main.size() < mainCapacity) {
+                main.put(key, entry);
+                return;
+            }
+
+            final K victim = main.keySet().iterator().next();
+
+            if (sketch.frequency(spread(key.hashCode())) > sketch.frequency(spread(victim.hashCode()))) {
+                main.remove(victim);
+                main.put(key, entry);
+            }
+
+            evictions.increment();
+        }
+
+        /**
+         * Number of entries in the segment.
+         *
+         * @return Entry count.
+         */
+        private int size() {
+            lock.lock();
+
+            try {
+                return main.size() + (window == null ? 0 : window.size());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
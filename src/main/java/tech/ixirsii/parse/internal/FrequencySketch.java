@@ -0,0 +1,152 @@
+package tech.ixirsii.parse.internal;
+
+/**
+ * Approximate, aging frequency counter used to decide which cache entries are worth keeping.
+ *
+ * <p>
+ * A count-min sketch of 4-bit counters, sixteen to a {@code long}. Each key increments one counter in each of four
+ * rows and its frequency is the smallest of them, so collisions can only overestimate. Once the number of increments
+ * reaches ten times the cache capacity every counter is halved, so keys which were popular long ago fade out. The
+ * sketch isn't thread safe; callers guard it with their own lock.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+final class FrequencySketch {
+    /**
+     * Largest value of a 4-bit counter.
+     */
+    private static final int MAX_COUNT = 15;
+    /**
+     * Clears the bit which moves into the next counter when every counter is halved.
+     */
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    /**
+     * Hash seed of each row.
+     */
+    private static final long[] SEEDS = {
+        0xc3a5_c85c_97cb_3127L, 0xb492_b66f_be98_f273L, 0x9ae1_6a3b_2f90_404fL, 0xcbf2_9ce4_8422_2325L,
+    };
+
+    /**
+     * {@code table.length - 1}, used to wrap hashes into the table.
+     */
+    private final int mask;
+    /**
+     * Number of increments after which every counter is halved.
+     */
+    private final int sampleSize;
+    /**
+     * Counters.
+     */
+    private final long[] table;
+
+    /**
+     * Increments since the counters were last halved.
+     */
+    private int additions;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity Number of entries in the cache the sketch serves.
+     */
+    /* default */ FrequencySketch(final int capacity) {
+        final int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+
+        this.mask = size - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * Math.max(1, capacity));
+        this.table = new long[size];
+    }
+
+    /**
+     * Estimate how often a key has been seen recently.
+     *
+     * @param hash Key hash.
+     * @return Estimated frequency, from 0 to 15.
+     */
+    /* default */ int frequency(final int hash) {
+        int frequency = MAX_COUNT;
+
+        for (int row = 0; row < SEEDS.length; ++row) {
+            final long h = spread(hash, row);
+            final int count = (int) (table[index(h)] >>> offset(h)) & MAX_COUNT;
+
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Record that a key was seen.
+     *
+     * @param hash Key hash.
+     */
+    /* default */ void increment(final int hash) {
+        boolean isAdded = false;
+
+        for (int row = 0; row < SEEDS.length; ++row) {
+            final long h = spread(hash, row);
+            final int index = index(h);
+            final int offset = offset(h);
+
+            if (((table[index] >>> offset) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << offset;
+                isAdded = true;
+            }
+        }
+
+        if (isAdded && ++additions == sampleSize) {
+            halve();
+        }
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Halve every counter so that old popularity fades.
+     */
+    private void halve() {
+        for (int i = 0; i < table.length; ++i) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        additions >>>= 1;
+    }
+
+    /**
+     * Get the table index of a row hash.
+     *
+     * @param h Row hash.
+     * @return Table index.
+     */
+    private int index(final long h) {
+        return (int) (h >>> Integer.SIZE) & mask;
+    }
+
+    /**
+     * Get the bit offset of the counter of a row hash within its {@code long}.
+     *
+     * @param h Row hash.
+     * @return Bit offset, a multiple of 4.
+     */
+    private static int offset(final long h) {
+        return ((int) (h >>> Short.SIZE) & MAX_COUNT) << 2;
+    }
+
+    /**
+     * Mix a key hash with the seed of a row.
+     *
+     * @param hash Key hash.
+     * @param row  Sketch row.
+     * @return Row hash.
+     */
+    private static long spread(final int hash, final int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+
+        h ^= h >>> 29;
+
+        return h * SEEDS[(row + 1) % SEEDS.length];
+    }
+}
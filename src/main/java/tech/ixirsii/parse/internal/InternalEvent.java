@@ -1,29 +1,151 @@
 package tech.ixirsii.parse.internal;
 
-import lombok.Builder;
-import lombok.Singular;
+import lombok.NonNull;
+import tech.ixirsii.parse.event.CommandEvent;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Internal command event builder.
  *
+ * <p>
+ * Argument events are stored by slot. The list of unrecognized arguments is only allocated if there is one.
+ *
  * @author Ryan Porterfield
- * @param events       Map of argument names to events.
- * @param unrecognized List of unrecognized arguments.
  * @since 1.0.0
  */
-@Builder
-public record InternalEvent(
-        @Singular Map<String, ArgumentEvent<?>> events,
-        @Singular("unrecognized") List<String> unrecognized) {
+public final class InternalEvent {
+    /**
+     * Argument event in each slot, or {@code null} if the argument wasn't passed.
+     */
+    private final ArgumentEvent<?>[] events;
+    /**
+     * Slots of the command's arguments.
+     */
+    private final SlotIndex index;
+    /**
+     * Deferred event owned by each slot for reuse, or {@code null} if events aren't reused.
+     */
+    private final ArgumentEvent<?>[] reusable;
+    /**
+     * Unrecognized arguments.
+     */
+    private List<CharSequence> unrecognized = Collections.emptyList();
+
+    /**
+     * Constructor.
+     *
+     * @param index Slots of the command's arguments.
+     */
+    public InternalEvent(@NonNull final SlotIndex index) {
+        this.events = new ArgumentEvent<?>[index.size()];
+        this.index = index;
+        this.reusable = null;
+    }
+
+    /**
+     * Constructor for a builder which is reset and refilled for each parse.
+     *
+     * @param index    Slots of the command's arguments.
+     * @param reusable Deferred event owned by each slot. The events are reset rather than replaced.
+     */
+    public InternalEvent(@NonNull final SlotIndex index, @NonNull final ArgumentEvent<?>[] reusable) {
+        if (reusable.length != index.size()) {
+            throw new IllegalArgumentException("Every slot must have exactly one reusable event");
+        }
+
+        this.events = new ArgumentEvent<?>[index.size()];
+        this.index = index;
+        this.reusable = reusable;
+    }
+
+    /**
+     * Set the event of the argument in a slot, replacing any earlier event.
+     *
+     * @param slot  Argument slot.
+     * @param event Argument event.
+     */
+    public void event(final int slot, @NonNull final ArgumentEvent<?> event) {
+        events[slot] = event;
+    }
+
+    /**
+     * Get the event of the argument in a slot.
+     *
+     * @param slot Argument slot.
+     * @return Argument event, or {@code null} if the argument wasn't passed.
+     */
+    public ArgumentEvent<?> event(final int slot) {
+        return events[slot];
+    }
+
+    /**
+     * Check if any arguments were unrecognized.
+     *
+     * @return {@code true} if there is at least one unrecognized argument, otherwise {@code false}.
+     */
+    public boolean hasUnrecognized() {
+        return !unrecognized.isEmpty();
+    }
+
+    /**
+     * Get the slots of the command's arguments.
+     *
+     * @return Slot index.
+     */
+    public @NonNull SlotIndex index() {
+        return index;
+    }
+
+    /**
+     * Clear every slot and unrecognized argument so the builder can be refilled.
+     */
+    public void reset() {
+        Arrays.fill(events, null);
+        unrecognized = Collections.emptyList();
+    }
+
+    /**
+     * Get the reusable event owned by a slot.
+     *
+     * @param slot Argument slot.
+     * @return Reusable event, or {@code null} if this builder doesn't reuse events.
+     */
+    public ArgumentEvent<?> reusable(final int slot) {
+        return reusable == null ? null : reusable[slot];
+    }
+
+    /**
+     * Add an unrecognized argument.
+     *
+     * @param argument Unrecognized argument.
+     */
+    public void unrecognized(@NonNull final CharSequence argument) {
+        if (unrecognized.isEmpty()) {
+            unrecognized = new ArrayList<>();
+        }
+
+        unrecognized.add(argument);
+    }
+
+    /**
+     * Get the unrecognized arguments.
+     *
+     * @return Unrecognized arguments.
+     */
+    public @NonNull List<CharSequence> unrecognized() {
+        return Collections.unmodifiableList(unrecognized);
+    }
+
     /**
-     * Convert to {@link tech.ixirsii.parse.event.CommandEvent}.
+     * Convert to {@link CommandEvent}. The events are shared, not copied.
      *
-     * @return new {@link tech.ixirsii.parse.event.CommandEvent}.
+     * @return new {@link CommandEvent}.
      */
-    public tech.ixirsii.parse.event.CommandEvent toCommandEvent() {
-        return new tech.ixirsii.parse.event.CommandEvent(events);
+    public CommandEvent toCommandEvent() {
+        return new CommandEvent(events, index);
     }
 }
@@ -0,0 +1,122 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Memory-mapped file split into chunks of whole lines which can be read in parallel, such as a file of commands.
+ *
+ * <p>
+ * Chunk boundaries are found in the raw bytes by jumping to evenly spaced offsets and moving forward to the next line,
+ * so only the bytes near each boundary are read. The number of the first line of each chunk is found by counting the
+ * line breaks of every chunk in parallel. Nothing is decoded until a chunk is read, and then each line is decoded on
+ * its own (see {@link MappedText#text(int, int)}), so decoding is spread across the threads reading the chunks.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class LineChunks {
+    /**
+     * Byte offset of the first line of each chunk, followed by the size of the file.
+     */
+    private final int[] bounds;
+    /**
+     * Mapped file to split.
+     */
+    private final MappedText file;
+    /**
+     * One-based number of the first line of each chunk.
+     */
+    private final long[] firstLines;
+
+    /**
+     * Constructor.
+     *
+     * @param file          Mapped file to split.
+     * @param maximumChunks Most chunks to split the file into. Fewer are used if lines are longer than a chunk.
+     * @throws IllegalArgumentException if {@code maximumChunks} isn't positive.
+     */
+    public LineChunks(@NonNull final MappedText file, final int maximumChunks) {
+        if (maximumChunks <= 0) {
+            throw new IllegalArgumentException("Maximum chunks must be positive but was " + maximumChunks);
+        }
+
+        final int[] offsets = new int[maximumChunks + 1];
+        int count = 0;
+
+        for (int i = 1; i < maximumChunks; ++i) {
+            final int target = (int) ((long) file.size() * i / maximumChunks);
+            final int offset = file.lineStart(Math.max(target, offsets[count]));
+
+            if (offset > offsets[count] && offset < file.size()) {
+                offsets[++count] = offset;
+            }
+        }
+
+        offsets[++count] = file.size();
+
+        this.bounds = Arrays.copyOf(offsets, count + 1);
+        this.file = file;
+        this.firstLines = new long[count];
+
+        final long[] breaks = IntStream.range(0, count)
+            .parallel()
+            .mapToLong(chunk -> file.lineBreaks(bounds[chunk], bounds[chunk + 1]))
+            .toArray();
+
+        long line = 1;
+
+        for (int chunk = 0; chunk < count; ++chunk) {
+            firstLines[chunk] = line;
+            line += breaks[chunk];
+        }
+    }
+
+    /**
+     * Number of chunks.
+     *
+     * @return Chunk count.
+     */
+    public int count() {
+        return firstLines.length;
+    }
+
+    /**
+     * Pass each line of a chunk which isn't blank to a consumer, without its line break.
+     *
+     * @param chunk    Chunk index in {@code [0, count())}.
+     * @param consumer Receives each line and its one-based line number. ASCII lines are views of the mapping.
+     * @throws java.io.UncheckedIOException if a line isn't valid UTF-8.
+     */
+    public void forEachLine(final int chunk, @NonNull final ObjLongConsumer<CharSequence> consumer) {
+        final int end = bounds[chunk + 1];
+        long number = firstLines[chunk];
+        int start = bounds[chunk];
+
+        while (start < end) {
+            final int lineEnd = file.lineEnd(start);
+            final CharSequence line = file.text(start, lineEnd);
+            int length = line.length();
+
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                --length;
+            }
+
+            boolean isBlank = true;
+
+            for (int i = 0; i < length && isBlank; ++i) {
+                isBlank = Character.isWhitespace(line.charAt(i));
+            }
+
+            if (!isBlank) {
+                consumer.accept(length == line.length() ? line : new TextSlice(line, 0, length), number);
+            }
+
+            ++number;
+            start = lineEnd + 1;
+        }
+    }
+}
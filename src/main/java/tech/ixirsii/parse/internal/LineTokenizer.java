@@ -0,0 +1,214 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+/**
+ * {@link TokenSource} which splits a line of input on whitespace as it is read.
+ *
+ * <p>
+ * Whitespace inside quotes (see {@link StringSplitter#isQuote(char)}) doesn't split a token, and the quotes are kept
+ * as part of the token. The tokenizer reads one token ahead so that the parser can decide whether an option takes
+ * the following token as its value.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class LineTokenizer implements TokenSource {
+    /**
+     * Offset of the first character to read.
+     */
+    private final int from;
+    /**
+     * Input line.
+     */
+    private final CharSequence line;
+    /**
+     * Total number of tokens, or -1 if they haven't been counted yet.
+     */
+    private int count = -1;
+    /**
+     * End of the current token.
+     */
+    private int end = -1;
+    /**
+     * Index of the current token.
+     */
+    private int index = -1;
+    /**
+     * End of the next token.
+     */
+    private int nextEnd = -1;
+    /**
+     * Start of the next token, or -1 if there are no more tokens.
+     */
+    private int nextStart = -1;
+    /**
+     * Start of the current token.
+     */
+    private int start = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param line Input line.
+     */
+    public LineTokenizer(@NonNull final CharSequence line) {
+        this(line, 0);
+    }
+
+    /**
+     * Constructor for the tokens from an offset to the end of a line.
+     *
+     * @param line Input line.
+     * @param from Offset of the first character to read.
+     */
+    public LineTokenizer(@NonNull final CharSequence line, final int from) {
+        this.from = from;
+        this.line = line;
+
+        scan(from);
+    }
+
+    @Override
+    public int end() {
+        return end;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextStart >= 0;
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public @NonNull Object input() {
+        return line;
+    }
+
+    @Override
+    public boolean next() {
+        if (nextStart < 0) {
+            return false;
+        }
+
+        start = nextStart;
+        end = nextEnd;
+        ++index;
+
+        scan(end);
+
+        return true;
+    }
+
+    @Override
+    public boolean nextStartsWith(final char c) {
+        return nextStart >= 0 && line.charAt(nextStart) == c;
+    }
+
+    @Override
+    public @NonNull CharSequence peek() {
+        return nextStart < 0 ? "" : new TextSlice(line, nextStart, nextEnd);
+    }
+
+    @Override
+    public int remaining() {
+        if (count < 0) {
+            // Only count the rest of the line the first time it's needed
+            count = index + 1;
+
+            for (int i = nextStart; i >= 0 && i < line.length(); i = skipWhitespace(tokenEnd(i))) {
+                ++count;
+            }
+        }
+
+        return count - index - 1;
+    }
+
+    @Override
+    public @NonNull TokenSource rest() {
+        return new LineTokenizer(line, index < 0 ? from : end);
+    }
+
+    @Override
+    public void rewind() {
+        count = -1;
+        end = -1;
+        index = -1;
+        start = -1;
+
+        scan(from);
+    }
+
+    @Override
+    public int start() {
+        return start;
+    }
+
+    @Override
+    public @NonNull CharSequence text() {
+        return line;
+    }
+
+    /**
+     * Find the next token.
+     *
+     * @param from Index to start searching from.
+     */
+    private void scan(final int from) {
+        final int tokenStart = skipWhitespace(from);
+
+        if (tokenStart < line.length()) {
+            nextStart = tokenStart;
+            nextEnd = tokenEnd(tokenStart);
+        } else {
+            nextStart = -1;
+            nextEnd = -1;
+        }
+    }
+
+    /**
+     * Skip whitespace.
+     *
+     * @param from Index to start from.
+     * @return Index of the next non-whitespace character or the length of the line.
+     */
+    private int skipWhitespace(final int from) {
+        int i = from;
+
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            ++i;
+        }
+
+        return i;
+    }
+
+    /**
+     * Find the end of a token.
+     *
+     * @param from Index of the first character of the token.
+     * @return Index after the last character of the token.
+     */
+    private int tokenEnd(final int from) {
+        char quoteChar = 0;
+
+        for (int i = from; i < line.length(); ++i) {
+            final char c = line.charAt(i);
+
+            if (quoteChar != 0) {
+                if (c == quoteChar) {
+                    quoteChar = 0;
+                }
+            } else if (Character.isWhitespace(c)) {
+                return i;
+            } else if (StringSplitter.isQuote(c)) {
+                quoteChar = c;
+            }
+        }
+
+        return line.length();
+    }
+}
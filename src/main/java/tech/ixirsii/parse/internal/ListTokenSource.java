@@ -0,0 +1,112 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * {@link TokenSource} over input which has already been split, such as JVM command line arguments.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class ListTokenSource implements TokenSource {
+    /**
+     * Split input.
+     */
+    private List<String> arguments;
+    /**
+     * Index of the current token.
+     */
+    private int index = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param arguments Split input.
+     */
+    public ListTokenSource(@NonNull final List<String> arguments) {
+        this.arguments = arguments;
+    }
+
+    @Override
+    public int end() {
+        return arguments.get(index).length();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return index + 1 < arguments.size();
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public @NonNull Object input() {
+        return arguments;
+    }
+
+    @Override
+    public boolean next() {
+        if (hasNext()) {
+            ++index;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean nextStartsWith(final char c) {
+        return hasNext() && !arguments.get(index + 1).isEmpty() && arguments.get(index + 1).charAt(0) == c;
+    }
+
+    @Override
+    public @NonNull CharSequence peek() {
+        return hasNext() ? arguments.get(index + 1) : "";
+    }
+
+    @Override
+    public int remaining() {
+        return arguments.size() - index - 1;
+    }
+
+    @Override
+    public @NonNull TokenSource rest() {
+        return new ListTokenSource(arguments.subList(index + 1, arguments.size()));
+    }
+
+    @Override
+    public void rewind() {
+        index = -1;
+    }
+
+    @Override
+    public @NonNull CharSequence slice() {
+        // Each token is a whole string, so it can be shared instead of sliced
+        return arguments.get(index);
+    }
+
+    @Override
+    public int start() {
+        return 0;
+    }
+
+    @Override
+    public @NonNull CharSequence text() {
+        return arguments.get(index);
+    }
+
+    /**
+     * Start reading new input from the beginning, so that one source can be reused.
+     *
+     * @param input Split input.
+     */
+    public void reset(@NonNull final List<String> input) {
+        arguments = input;
+        rewind();
+    }
+}
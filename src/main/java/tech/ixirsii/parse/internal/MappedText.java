@@ -0,0 +1,204 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * UTF-8 text file which is memory-mapped rather than read into the heap, and decoded a range at a time as it is used.
+ *
+ * <p>
+ * Line breaks are found in the raw bytes, which is safe because a {@code '\n'} byte is never part of another character
+ * in UTF-8. Only the ranges which are read are decoded: an ASCII range is a view of the mapping, so it is never copied
+ * into the heap, and any other range is decoded into its own buffer.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class MappedText {
+    /**
+     * Line break byte.
+     */
+    private static final byte LINE_BREAK = '\n';
+
+    /**
+     * Mapped file contents.
+     */
+    private final ByteBuffer bytes;
+
+    /**
+     * Constructor.
+     *
+     * @param bytes Mapped file contents.
+     */
+    private MappedText(@NonNull final ByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Map a file. Nothing is read until the text is used.
+     *
+     * @param path File to map.
+     * @return Mapped file.
+     * @throws IOException if the file can't be read or is larger than 2 GiB.
+     */
+    public static @NonNull MappedText map(@NonNull final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + path + " is larger than 2 GiB");
+            }
+
+            return new MappedText(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /* ********************************************* Public methods ********************************************* */
+
+    /**
+     * Count the line breaks in a range of bytes.
+     *
+     * @param start Byte offset of the range (inclusive).
+     * @param end   Byte offset of the range (exclusive).
+     * @return Number of line breaks.
+     */
+    public long lineBreaks(final int start, final int end) {
+        long breaks = 0;
+
+        for (int i = start; i < end; ++i) {
+            if (bytes.get(i) == LINE_BREAK) {
+                ++breaks;
+            }
+        }
+
+        return breaks;
+    }
+
+    /**
+     * Find the end of the line containing a byte.
+     *
+     * @param from Byte offset to search from.
+     * @return Byte offset of the next line break at or after {@code from}, or {@link #size()} if there isn't one.
+     */
+    public int lineEnd(final int from) {
+        for (int i = from; i < bytes.limit(); ++i) {
+            if (bytes.get(i) == LINE_BREAK) {
+                return i;
+            }
+        }
+
+        return bytes.limit();
+    }
+
+    /**
+     * Find the start of the first line at or after a byte.
+     *
+     * @param from Byte offset to search from.
+     * @return Byte offset of the first line which starts at or after {@code from}, or {@link #size()}.
+     */
+    public int lineStart(final int from) {
+        if (from == 0) {
+            return 0;
+        }
+
+        return Math.min(lineEnd(from - 1) + 1, bytes.limit());
+    }
+
+    /**
+     * Size of the file.
+     *
+     * @return Number of bytes.
+     */
+    public int size() {
+        return bytes.limit();
+    }
+
+    /**
+     * Decode a range of bytes.
+     *
+     * @param start Byte offset of the range (inclusive).
+     * @param end   Byte offset of the range (exclusive).
+     * @return Text of the range. A view of the mapping if it is all ASCII.
+     * @throws IndexOutOfBoundsException if the range isn't within the file.
+     * @throws UncheckedIOException      if the range isn't valid UTF-8.
+     */
+    public @NonNull CharSequence text(final int start, final int end) {
+        Objects.checkFromToIndex(start, end, bytes.limit());
+
+        for (int i = start; i < end; ++i) {
+            if (bytes.get(i) < 0) {
+                try {
+                    return StandardCharsets.UTF_8.newDecoder().decode(bytes.slice(start, end - start));
+                } catch (final CharacterCodingException e) {
+                    throw new UncheckedIOException("Bytes " + start + " to " + end + " aren't valid UTF-8", e);
+                }
+            }
+        }
+
+        return new Ascii(bytes, start, end - start);
+    }
+
+    /**
+     * {@link CharSequence} view of a range of ASCII bytes.
+     */
+    private static final class Ascii implements CharSequence {
+        /**
+         * Mapped file contents.
+         */
+        private final ByteBuffer bytes;
+        /**
+         * Number of characters.
+         */
+        private final int length;
+        /**
+         * Byte offset of the first character.
+         */
+        private final int offset;
+
+        /**
+         * Constructor.
+         *
+         * @param bytes  Mapped file contents.
+         * @param offset Byte offset of the first character.
+         * @param length Number of characters.
+         */
+        private Ascii(@NonNull final ByteBuffer bytes, final int offset, final int length) {
+            this.bytes = bytes;
+            this.length = length;
+            this.offset = offset;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) bytes.get(offset + Objects.checkIndex(index, length));
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public @NonNull CharSequence subSequence(final int start, final int end) {
+            return new TextSlice(this, start, end);
+        }
+
+        @Override
+        public @NonNull String toString() {
+            final byte[] copy = new byte[length];
+
+            bytes.get(offset, copy);
+
+            return new String(copy, StandardCharsets.US_ASCII);
+        }
+    }
+}
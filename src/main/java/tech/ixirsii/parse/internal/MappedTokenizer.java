@@ -0,0 +1,227 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+/**
+ * {@link TokenSource} which splits a memory-mapped file on whitespace as it is read.
+ *
+ * <p>
+ * The file is read a line at a time: each line is decoded (see {@link MappedText#text(int, int)}) when the tokenizer
+ * reaches it and split by a {@link LineTokenizer}, so only the lines which are read are ever decoded. Quotes don't
+ * continue past the end of a line. Like a {@link LineTokenizer}, it reads one token ahead, skipping blank lines.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class MappedTokenizer implements TokenSource {
+    /**
+     * Mapped file.
+     */
+    private final MappedText file;
+    /**
+     * Byte offset of the first line to read after {@link #head}.
+     */
+    private final int from;
+    /**
+     * Tokens to read before {@link #from}, such as the rest of a line, or {@code null} if there aren't any.
+     */
+    private final TokenSource head;
+
+    /**
+     * Line holding the next token, or {@code null} if there are no more tokens.
+     */
+    private TokenSource ahead;
+    /**
+     * Byte offset of the line after {@link #ahead}.
+     */
+    private int aheadEnd;
+    /**
+     * Total number of tokens, or -1 if they haven't been counted yet.
+     */
+    private int count = -1;
+    /**
+     * Line holding the current token, or {@code null} before the first token.
+     */
+    private TokenSource line;
+    /**
+     * Number of tokens before the current token.
+     */
+    private int position = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param file Mapped file.
+     * @throws java.io.UncheckedIOException if a line isn't valid UTF-8.
+     */
+    public MappedTokenizer(@NonNull final MappedText file) {
+        this(file, null, 0);
+    }
+
+    /**
+     * Constructor for some tokens followed by the lines from an offset to the end of a file.
+     *
+     * @param file Mapped file.
+     * @param head Tokens to read first, or {@code null} if there aren't any.
+     * @param from Byte offset of the first line to read after {@code head}.
+     */
+    private MappedTokenizer(@NonNull final MappedText file, final TokenSource head, final int from) {
+        this.file = file;
+        this.from = from;
+        this.head = head;
+
+        readFirst();
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @Override
+    public int end() {
+        return line == null ? -1 : line.end();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return ahead != null;
+    }
+
+    @Override
+    public int index() {
+        return line == null ? -1 : line.index();
+    }
+
+    @Override
+    public @NonNull Object input() {
+        return line == null ? file : line.input();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws java.io.UncheckedIOException if a line isn't valid UTF-8.
+     */
+    @Override
+    public boolean next() {
+        if (ahead == null) {
+            return false;
+        }
+
+        line = ahead;
+        line.next();
+        ++position;
+
+        if (!line.hasNext()) {
+            readAhead(aheadEnd);
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean nextStartsWith(final char c) {
+        return ahead != null && ahead.nextStartsWith(c);
+    }
+
+    @Override
+    public @NonNull CharSequence peek() {
+        return ahead == null ? "" : ahead.peek();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The first call reads the rest of the file to count its tokens.
+     *
+     * @throws java.io.UncheckedIOException if a line isn't valid UTF-8.
+     */
+    @Override
+    public int remaining() {
+        if (count < 0) {
+            final TokenSource rest = rest();
+
+            count = position + 1;
+
+            while (rest.next()) {
+                ++count;
+            }
+        }
+
+        return count - position - 1;
+    }
+
+    @Override
+    public @NonNull TokenSource rest() {
+        if (ahead == null) {
+            return new MappedTokenizer(file, null, file.size());
+        }
+
+        // The rest of the line holding the next token, then the lines after it
+        return new MappedTokenizer(file, ahead.rest(), aheadEnd);
+    }
+
+    @Override
+    public void rewind() {
+        if (head != null) {
+            head.rewind();
+        }
+
+        count = -1;
+        line = null;
+        position = -1;
+
+        readFirst();
+    }
+
+    @Override
+    public int start() {
+        return line == null ? -1 : line.start();
+    }
+
+    @Override
+    public @NonNull CharSequence text() {
+        return line == null ? "" : line.text();
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Find the next line with a token.
+     *
+     * @param offset Byte offset to start searching from.
+     * @throws java.io.UncheckedIOException if a line isn't valid UTF-8.
+     */
+    private void readAhead(final int offset) {
+        int lineStart = offset;
+
+        ahead = null;
+
+        while (lineStart < file.size()) {
+            final int lineEnd = file.lineEnd(lineStart);
+            final LineTokenizer tokens = new LineTokenizer(file.text(lineStart, lineEnd));
+
+            lineStart = lineEnd + 1;
+
+            if (tokens.hasNext()) {
+                ahead = tokens;
+                break;
+            }
+        }
+
+        aheadEnd = lineStart;
+    }
+
+    /**
+     * Read ahead to the first token.
+     *
+     * @throws java.io.UncheckedIOException if a line isn't valid UTF-8.
+     */
+    private void readFirst() {
+        if (head != null && head.hasNext()) {
+            ahead = head;
+            aheadEnd = from;
+        } else {
+            readAhead(from);
+        }
+    }
+}
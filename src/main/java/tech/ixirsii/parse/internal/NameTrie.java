@@ -0,0 +1,198 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable character trie which maps names to indices.
+ *
+ * <p>
+ * The trie is flattened into arrays when it is built. Children of a node are stored contiguously and sorted by
+ * character, so a lookup walks the input once without allocating and costs {@code O(length * log(fan-out))}.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class NameTrie {
+    /**
+     * Index returned when a prefix matches more than one name.
+     */
+    public static final int AMBIGUOUS = -2;
+    /**
+     * Index returned when a name can't be found.
+     */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * Index into {@link #labels} and {@link #targets} of each node's first child. Has one extra trailing entry.
+     */
+    private final int[] firstChild;
+    /**
+     * Edge characters, sorted within each node.
+     */
+    private final char[] labels;
+    /**
+     * Child node of each edge.
+     */
+    private final int[] targets;
+    /**
+     * Index of the name ending at each node or {@link #NOT_FOUND}.
+     */
+    private final int[] terminals;
+    /**
+     * Index of the only name below each node, or {@link #AMBIGUOUS} if there is more than one.
+     */
+    private final int[] uniques;
+
+    /**
+     * Constructor.
+     *
+     * @param names Names to index. Each name maps to its index in the list.
+     * @throws IllegalArgumentException if a name is empty or appears more than once.
+     */
+    public NameTrie(@NonNull final List<String> names) {
+        final List<SortedMap<Character, Integer>> children = new ArrayList<>();
+        final List<Integer> terminalList = new ArrayList<>();
+        final List<Integer> uniqueList = new ArrayList<>();
+
+        children.add(new TreeMap<>());
+        terminalList.add(NOT_FOUND);
+        uniqueList.add(NOT_FOUND);
+
+        for (int index = 0; index < names.size(); ++index) {
+            final String name = names.get(index);
+
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Names must not be empty");
+            }
+
+            int node = 0;
+
+            for (int i = 0; i < name.length(); ++i) {
+                uniqueList.set(node, uniqueList.get(node) == NOT_FOUND ? index : AMBIGUOUS);
+
+                final Integer child = children.get(node).get(name.charAt(i));
+
+                if (child == null) {
+                    children.get(node).put(name.charAt(i), children.size());
+                    node = children.size();
+                    children.add(new TreeMap<>());
+                    terminalList.add(NOT_FOUND);
+                    uniqueList.add(NOT_FOUND);
+                } else {
+                    node = child;
+                }
+            }
+
+            if (terminalList.get(node) != NOT_FOUND) {
+                throw new IllegalArgumentException("Duplicate name " + name);
+            }
+
+            terminalList.set(node, index);
+            uniqueList.set(node, uniqueList.get(node) == NOT_FOUND ? index : AMBIGUOUS);
+        }
+
+        final int nodes = children.size();
+
+        this.firstChild = new int[nodes + 1];
+        this.labels = new char[nodes - 1];
+        this.targets = new int[nodes - 1];
+        this.terminals = new int[nodes];
+        this.uniques = new int[nodes];
+
+        int edge = 0;
+
+        for (int node = 0; node < nodes; ++node) {
+            firstChild[node] = edge;
+            terminals[node] = terminalList.get(node);
+            uniques[node] = uniqueList.get(node);
+
+            for (final Map.Entry<Character, Integer> entry : children.get(node).entrySet()) {
+                labels[edge] = entry.getKey();
+                targets[edge] = entry.getValue();
+                ++edge;
+            }
+        }
+
+        firstChild[nodes] = edge;
+    }
+
+    /**
+     * Find a name which exactly matches a range of characters.
+     *
+     * @param text  Text containing the name.
+     * @param start Start of the name (inclusive).
+     * @param end   End of the name (exclusive).
+     * @return Index of the name or {@link #NOT_FOUND}.
+     */
+    public int find(@NonNull final CharSequence text, final int start, final int end) {
+        final int node = walk(text, start, end);
+
+        return node < 0 ? NOT_FOUND : terminals[node];
+    }
+
+    /**
+     * Find a name which exactly matches a range of characters, or which the range is an unambiguous abbreviation of.
+     *
+     * @param text  Text containing the name or abbreviation.
+     * @param start Start of the name (inclusive).
+     * @param end   End of the name (exclusive).
+     * @return Index of the name, {@link #NOT_FOUND} or {@link #AMBIGUOUS}.
+     */
+    public int findPrefix(@NonNull final CharSequence text, final int start, final int end) {
+        final int node = walk(text, start, end);
+
+        if (node <= 0) {
+            // Either no match or an empty range, which isn't an abbreviation of anything
+            return NOT_FOUND;
+        } else if (terminals[node] != NOT_FOUND) {
+            return terminals[node];
+        } else {
+            return uniques[node];
+        }
+    }
+
+    /**
+     * Walk the trie along a range of characters.
+     *
+     * @param text  Text to walk.
+     * @param start Start of the range (inclusive).
+     * @param end   End of the range (exclusive).
+     * @return Node reached or {@link #NOT_FOUND}.
+     */
+    private int walk(@NonNull final CharSequence text, final int start, final int end) {
+        int node = 0;
+
+        for (int i = start; i < end; ++i) {
+            final char c = text.charAt(i);
+            int low = firstChild[node];
+            int high = firstChild[node + 1] - 1;
+
+            node = NOT_FOUND;
+
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+
+                if (labels[middle] < c) {
+                    low = middle + 1;
+                } else if (labels[middle] > c) {
+                    high = middle - 1;
+                } else {
+                    node = targets[middle];
+                    break;
+                }
+            }
+
+            if (node == NOT_FOUND) {
+                return NOT_FOUND;
+            }
+        }
+
+        return node;
+    }
+}
@@ -0,0 +1,100 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable map from a command's arguments to their slots.
+ *
+ * <p>
+ * One index is built per command and shared by every event the command produces, so an event only needs an array of
+ * argument events indexed by slot.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class SlotIndex {
+    /**
+     * Slot returned when a name can't be found.
+     */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * Argument in each slot.
+     */
+    private final Object[] arguments;
+    /**
+     * Name of the argument in each slot.
+     */
+    private final String[] names;
+    /**
+     * Argument names to slot.
+     */
+    private final Map<String, Integer> slots;
+
+    /**
+     * Constructor.
+     *
+     * @param arguments Argument in each slot.
+     * @param names     Name of the argument in each slot. If two arguments share a name, the later one is found.
+     */
+    public SlotIndex(@NonNull final List<?> arguments, @NonNull final List<String> names) {
+        if (arguments.size() != names.size()) {
+            throw new IllegalArgumentException("Every argument must have exactly one name");
+        }
+
+        final Map<String, Integer> slotMap = HashMap.newHashMap(names.size());
+
+        for (int slot = 0; slot < names.size(); ++slot) {
+            slotMap.put(names.get(slot), slot);
+        }
+
+        this.arguments = arguments.toArray();
+        this.names = names.toArray(new String[0]);
+        this.slots = Map.copyOf(slotMap);
+    }
+
+    /**
+     * Check if a slot holds an argument.
+     *
+     * @param slot     Argument slot.
+     * @param argument Argument to check.
+     * @return {@code true} if {@code argument} is the same object as the argument in {@code slot}, otherwise
+     *     {@code false}.
+     */
+    public boolean holds(final int slot, @NonNull final Object argument) {
+        return slot >= 0 && slot < arguments.length && arguments[slot] == argument;
+    }
+
+    /**
+     * Get the name of the argument in a slot.
+     *
+     * @param slot Argument slot.
+     * @return Argument name.
+     */
+    public @NonNull String name(final int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Number of slots.
+     *
+     * @return Slot count.
+     */
+    public int size() {
+        return arguments.length;
+    }
+
+    /**
+     * Find the slot of an argument by name.
+     *
+     * @param name Argument name.
+     * @return Argument slot or {@link #NOT_FOUND}.
+     */
+    public int slot(@NonNull final String name) {
+        return slots.getOrDefault(name, NOT_FOUND);
+    }
+}
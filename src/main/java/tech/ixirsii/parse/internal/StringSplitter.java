@@ -10,11 +10,6 @@ import java.util.List;
  * Utility class for splitting strings.
  */
 public final class StringSplitter {
-    /**
-     * Characters which can delineate a string.
-     */
-    private static final List<Character> QUOTE_CHARACTERS = List.of('"', '\'', '`');
-
     /**
      * Hide utility class constructor.
      */
@@ -33,12 +28,15 @@ public final class StringSplitter {
      *     <li><i>string=containing</i> Where the positional argument equals "string=containing"</li>
      * </ol>
      *
+     * <p>
+     * The parts are {@link TextSlice}s of {@code argument}, so nothing is copied until they are read.
+     *
      * @param argument Command argument.
      * @return List of split arguments.
      */
-    public static List<String> splitArgument(@NonNull final String argument) {
-        if (argument.contains("=")) {
-            final List<String> result = new ArrayList<>();
+    public static List<CharSequence> splitArgument(@NonNull final CharSequence argument) {
+        if (indexOf(argument, '=') >= 0) {
+            final List<CharSequence> result = new ArrayList<>();
             boolean isQuote = false;
             char quoteChar = 0;
 
@@ -46,8 +44,8 @@ public final class StringSplitter {
                 final char c = argument.charAt(i);
 
                 if (!isQuote && c == '=') {
-                    return List.of(argument.substring(0, i), argument.substring(i + 1));
-                } else if (!isQuote && QUOTE_CHARACTERS.contains(c)) {
+                    return List.of(new TextSlice(argument, 0, i), new TextSlice(argument, i + 1, argument.length()));
+                } else if (!isQuote && isQuote(c)) {
                     isQuote = true;
                     quoteChar = c;
                 } else if (isQuote && c == quoteChar) {
@@ -60,4 +58,53 @@ public final class StringSplitter {
             return Collections.singletonList(argument);
         }
     }
+
+    /**
+     * Find the first occurrence of a character.
+     *
+     * @param text Text to search.
+     * @param c    Character to find.
+     * @return Index of the character, or -1 if it isn't found.
+     */
+    private static int indexOf(@NonNull final CharSequence text, final char c) {
+        for (int i = 0; i < text.length(); ++i) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get a token's value, removing enclosing quotes if present.
+     *
+     * @param text  Text containing the token.
+     * @param start Start of the token (inclusive).
+     * @param end   End of the token (exclusive).
+     * @return Value without enclosing quotes. A whole unquoted string is returned as is rather than sliced.
+     */
+    public static CharSequence unquote(@NonNull final CharSequence text, final int start, final int end) {
+        final boolean isQuoted = end - start >= 2
+            && isQuote(text.charAt(start))
+            && text.charAt(end - 1) == text.charAt(start);
+
+        if (isQuoted) {
+            return new TextSlice(text, start + 1, end - 1);
+        } else if (text instanceof String && start == 0 && end == text.length()) {
+            return text;
+        } else {
+            return new TextSlice(text, start, end);
+        }
+    }
+
+    /**
+     * Check if a character can delineate a string.
+     *
+     * @param c Character to check.
+     * @return {@code true} if {@code c} is a quote character, otherwise {@code false}.
+     */
+    public static boolean isQuote(final char c) {
+        return c == '"' || c == '\'' || c == '`';
+    }
 }
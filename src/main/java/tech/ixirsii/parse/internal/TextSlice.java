@@ -0,0 +1,119 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Read-only view of a range of characters in another {@link CharSequence}.
+ *
+ * <p>
+ * Slices let the parser refer to tokens without copying them. A {@link String} is only created when
+ * {@link #toString()} is called, and it is cached after that.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class TextSlice implements CharSequence {
+    /**
+     * Empty slice.
+     */
+    public static final TextSlice EMPTY = new TextSlice("", 0, 0);
+
+    /**
+     * End of the slice in {@link #source} (exclusive).
+     */
+    private final int end;
+    /**
+     * Text the slice refers to.
+     */
+    private final CharSequence source;
+    /**
+     * Start of the slice in {@link #source} (inclusive).
+     */
+    private final int start;
+    /**
+     * Cached string value.
+     */
+    private String string;
+
+    /**
+     * Constructor.
+     *
+     * @param source Text the slice refers to.
+     * @param start  Start of the slice (inclusive).
+     * @param end    End of the slice (exclusive).
+     * @throws IndexOutOfBoundsException if the range is not within {@code source}.
+     */
+    public TextSlice(@NonNull final CharSequence source, final int start, final int end) {
+        if (start < 0 || start > end || end > source.length()) {
+            throw new IndexOutOfBoundsException("Invalid slice [" + start + ", " + end + ") of " + source.length());
+        }
+
+        this.end = end;
+        this.source = source;
+        this.start = start;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return source.charAt(start + Objects.checkIndex(index, length()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public @NonNull CharSequence subSequence(final int subStart, final int subEnd) {
+        Objects.checkFromToIndex(subStart, subEnd, length());
+
+        return new TextSlice(source, start + subStart, start + subEnd);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        if (string == null) {
+            if (start == 0 && end == source.length() && source instanceof String sourceString) {
+                string = sourceString;
+            } else {
+                string = new StringBuilder(end - start).append(source, start, end).toString();
+            }
+        }
+
+        return string;
+    }
+
+    /**
+     * Get the end of the slice in the source text.
+     *
+     * @return End of the slice (exclusive).
+     */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * Get the text the slice refers to.
+     *
+     * @return Source text.
+     */
+    public @NonNull CharSequence source() {
+        return source;
+    }
+
+    /**
+     * Get the start of the slice in the source text.
+     *
+     * @return Start of the slice (inclusive).
+     */
+    public int start() {
+        return start;
+    }
+}
@@ -0,0 +1,241 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Values of the tokens consumed by one variable-arity argument.
+ *
+ * <p>
+ * A run of adjacent tokens is only a reference to the input and a count, so a trailing list of thousands of
+ * arguments takes constant memory however long it is. The values are read from the input again each time the run is
+ * iterated. If an option or the end of an argument file interrupts the run, a new segment is started, so memory only
+ * grows with the number of interruptions.
+ *
+ * <p>
+ * As a {@link CharSequence} the run reads as its values separated by spaces, which is only built if it is read, such
+ * as in an error message.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public final class TokenRun implements CharSequence, Iterable<CharSequence> {
+    /**
+     * Adjacent tokens in input order.
+     */
+    private final List<Segment> segments = new ArrayList<>(1);
+
+    /**
+     * Number of values.
+     */
+    private int count;
+    /**
+     * Values separated by spaces, or {@code null} if they haven't been joined yet.
+     */
+    private String joined;
+
+    /**
+     * Constructor.
+     */
+    private TokenRun() {
+    }
+
+    /**
+     * Start a run at the current token.
+     *
+     * @param tokens Input tokens.
+     * @return New run holding the current token.
+     */
+    public static TokenRun start(@NonNull final TokenSource tokens) {
+        final TokenRun run = new TokenRun();
+
+        run.add(tokens);
+
+        return run;
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @Override
+    public char charAt(final int index) {
+        return joined().charAt(index);
+    }
+
+    @Override
+    public @NonNull Iterator<CharSequence> iterator() {
+        final Iterator<Segment> remaining = segments.iterator();
+
+        return new Iterator<>() {
+            private Iterator<CharSequence> values = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!values.hasNext() && remaining.hasNext()) {
+                    values = remaining.next().iterator();
+                }
+
+                return values.hasNext();
+            }
+
+            @Override
+            public CharSequence next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return values.next();
+            }
+        };
+    }
+
+    @Override
+    public int length() {
+        return joined().length();
+    }
+
+    @Override
+    public @NonNull CharSequence subSequence(final int start, final int end) {
+        return joined().subSequence(start, end);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return joined();
+    }
+
+    /* ********************************************* Public methods ********************************************* */
+
+    /**
+     * Add the current token to the end of the run. Only called while the input is being parsed.
+     *
+     * @param tokens Input tokens.
+     */
+    public void add(@NonNull final TokenSource tokens) {
+        final Segment segment = segments.isEmpty() ? null : segments.getLast();
+
+        if (segment != null && segment.input == tokens.input() && segment.last + 1 == tokens.index()) {
+            ++segment.count;
+            segment.last = tokens.index();
+        } else if (tokens.input() instanceof List<?> arguments) {
+            segments.add(new Segment(arguments, tokens.index(), tokens.index()));
+        } else {
+            segments.add(new Segment(tokens.text(), tokens.start(), tokens.index()));
+        }
+
+        ++count;
+        joined = null;
+    }
+
+    /**
+     * Number of values.
+     *
+     * @return Value count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Join the values with spaces.
+     *
+     * @return Joined values.
+     */
+    private String joined() {
+        if (joined == null) {
+            joined = String.join(" ", this);
+        }
+
+        return joined;
+    }
+
+    /**
+     * Adjacent tokens of one input.
+     */
+    private static final class Segment implements Iterable<CharSequence> {
+        /**
+         * Index of the first token in a split input, or offset of the first token in a line.
+         */
+        private final int first;
+        /**
+         * Split input or line, see {@link TokenSource#input()}.
+         */
+        private final Object input;
+
+        /**
+         * Number of tokens.
+         */
+        private int count = 1;
+        /**
+         * Input index of the last token.
+         */
+        private int last;
+
+        /**
+         * Constructor for a segment holding one token.
+         *
+         * @param input Split input or line.
+         * @param first Index or offset of the token.
+         * @param last  Input index of the token.
+         */
+        private Segment(@NonNull final Object input, final int first, final int last) {
+            this.first = first;
+            this.input = input;
+            this.last = last;
+        }
+
+        @Override
+        public @NonNull Iterator<CharSequence> iterator() {
+            if (input instanceof List<?> arguments) {
+                return new Iterator<>() {
+                    private int index = first;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < first + count;
+                    }
+
+                    @Override
+                    public CharSequence next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        final String token = arguments.get(index++).toString();
+
+                        return StringSplitter.unquote(token, 0, token.length());
+                    }
+                };
+            }
+
+            final CharSequence line = (CharSequence) input;
+            final LineTokenizer tokenizer = new LineTokenizer(line, first);
+
+            return new Iterator<>() {
+                private int remaining = count;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                public CharSequence next() {
+                    if (remaining == 0 || !tokenizer.next()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    --remaining;
+
+                    return StringSplitter.unquote(line, tokenizer.start(), tokenizer.end());
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package tech.ixirsii.parse.internal;
+
+import lombok.NonNull;
+
+/**
+ * Cursor over the tokens of command input.
+ *
+ * <p>
+ * A token is a range of characters in {@link #text()}, so sources can hand tokens to the parser without copying
+ * them. The range is only valid until the next call to {@link #next()}.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public interface TokenSource {
+    /**
+     * Get the end of the current token.
+     *
+     * @return Index after the last character of the current token.
+     */
+    int end();
+
+    /**
+     * Check if there is a token after the current token.
+     *
+     * @return {@code true} if there is another token, otherwise {@code false}.
+     */
+    boolean hasNext();
+
+    /**
+     * Get the position of the current token in the input.
+     *
+     * @return Zero-based token index, or -1 before the first call to {@link #next()}.
+     */
+    int index();
+
+    /**
+     * Get the input which holds the current token, such as a list of split arguments or a line.
+     *
+     * <p>
+     * Tokens with the same input and consecutive {@link #index() indices} are adjacent, so a run of them can be read
+     * again from the input instead of being copied.
+     *
+     * @return Input of the current token.
+     */
+    @NonNull
+    Object input();
+
+    /**
+     * Advance to the next token.
+     *
+     * @return {@code true} if there was another token, otherwise {@code false}.
+     */
+    boolean next();
+
+    /**
+     * Check if the token after the current token starts with a character.
+     *
+     * @param c Character to check for.
+     * @return {@code true} if there is another token and it starts with {@code c}, otherwise {@code false}.
+     */
+    boolean nextStartsWith(char c);
+
+    /**
+     * Get the token after the current token without advancing to it.
+     *
+     * @return Next token, or an empty sequence if there isn't one.
+     */
+    @NonNull
+    CharSequence peek();
+
+    /**
+     * Count the tokens after the current token.
+     *
+     * @return Number of tokens remaining.
+     */
+    int remaining();
+
+    /**
+     * Create a source of the tokens after the current token, which can be read without moving this source.
+     *
+     * @return New source of the remaining tokens.
+     */
+    @NonNull
+    TokenSource rest();
+
+    /**
+     * Go back to before the first token, so that the input can be read again.
+     */
+    void rewind();
+
+    /**
+     * Get the start of the current token.
+     *
+     * @return Index of the first character of the current token.
+     */
+    int start();
+
+    /**
+     * Get a view of the current token.
+     *
+     * <p>
+     * The slice refers to {@link #text()} rather than copying it, so it stays valid after {@link #next()} is called.
+     *
+     * @return Current token.
+     */
+    default @NonNull CharSequence slice() {
+        return new TextSlice(text(), start(), end());
+    }
+
+    /**
+     * Get the text containing the current token.
+     *
+     * @return Token text.
+     */
+    @NonNull
+    CharSequence text();
+}
@@ -4,33 +4,99 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import tech.ixirsii.parse.command.ArgumentValueCount;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * {@link Parser} for boolean values.
  *
+ * <p>
+ * Words are matched ignoring case, independent of the default locale. The vocabulary is compiled into an
+ * open-addressed hash table when the parser is built, so a value is recognized with a single hash of its characters
+ * and usually one comparison, without allocating. Extra words can be added with {@link #builder()}.
+ *
  * @author Ryan Porterfield
  * @since 1.0.0
  */
 @Slf4j
-public final class BooleanParser implements Parser<Boolean> {
+public final class BooleanParser implements BooleanValueParser {
     /**
-     * Possible values for a false argument.
+     * Default words for a false argument.
      */
     private static final List<String> FALSE_VALUES = List.of("f", "false", "n", "no");
     /**
-     * Possible values for a true argument.
+     * Default words for a true argument.
      */
     private static final List<String> TRUE_VALUES = List.of("t", "true", "y", "yes");
+
+    /**
+     * {@code table.length - 1}, used to wrap hashes into the table.
+     */
+    private final int mask;
     /**
-     * Valid boolean values message.
+     * Lowercase word in each table entry, or {@code null} if the entry is empty.
      */
-    private static final String VALID_VALUES_MSG = "Valid values are false " + FALSE_VALUES + " or true " + TRUE_VALUES;
+    private final String[] table;
+    /**
+     * Value of the word in each table entry.
+     */
+    private final boolean[] tableValues;
+    /**
+     * Valid boolean values, appended to error messages.
+     */
+    private final String validValuesHint;
 
     /**
      * Hide constructor.
      */
     /* default */ BooleanParser() {
+        this(FALSE_VALUES, TRUE_VALUES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param falseWords Lowercase words for a false argument.
+     * @param trueWords  Lowercase words for a true argument.
+     */
+    private BooleanParser(@NonNull final List<String> falseWords, @NonNull final List<String> trueWords) {
+        // Keep the table at most half full so probes are short
+        final int size = Integer.highestOneBit(Math.max(1, falseWords.size() + trueWords.size())) << 2;
+
+        this.mask = size - 1;
+        this.table = new String[size];
+        this.tableValues = new boolean[size];
+        this.validValuesHint = ". Valid values are false " + falseWords + " or true " + trueWords;
+
+        for (final String word : falseWords) {
+            insert(word, false);
+        }
+
+        for (final String word : trueWords) {
+            insert(word, true);
+        }
+    }
+
+    /**
+     * Create a new builder, starting from the default vocabulary.
+     *
+     * @return New builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Only the true and false words are accepted, so an option never takes an empty argument as its value.
+     */
+    @Override
+    public boolean accepts(@NonNull final CharSequence value) {
+        return !value.isEmpty() && find(value) >= 0;
     }
 
     @NonNull
@@ -41,21 +107,233 @@ public final class BooleanParser implements Parser<Boolean> {
 
     @Override
     public @NonNull ParseResult<Boolean> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<Boolean> parse(@NonNull final CharSequence value) {
         log.trace("Parsing {} as boolean", value);
 
         if (value.isEmpty()) {
             // No value was passed, but the optional flag is present meaning true
-            return new ParseResult<>(true, true, "");
+            return ParseResult.of(true);
         }
 
-        final String lowercase = value.toLowerCase();
-        final boolean isFalse = FALSE_VALUES.contains(lowercase);
-        final boolean isTrue = TRUE_VALUES.contains(lowercase);
+        final int index = find(value);
 
-        if (!isFalse && !isTrue) {
-            return new ParseResult<>(null, false, "Boolean required but got " + value + ". " + VALID_VALUES_MSG);
+        if (index < 0) {
+            return ParseResult.failure(error(value));
         }
 
-        return new ParseResult<>(isTrue, true, "");
+        return ParseResult.of(tableValues[index]);
+    }
+
+    @Override
+    public void parseBoolean(@NonNull final CharSequence value, @NonNull final PrimitiveSink sink) {
+        if (value.isEmpty()) {
+            // An empty value means the optional flag is present without a value, meaning true
+            sink.setBoolean(true);
+            return;
+        }
+
+        final int index = find(value);
+
+        if (index < 0) {
+            sink.fail(error(value));
+        } else {
+            sink.setBoolean(tableValues[index]);
+        }
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Compare a lowercase word with a value, ignoring the case of the value.
+     *
+     * @param word  Lowercase word.
+     * @param value Value to compare.
+     * @return {@code true} if {@code value} is {@code word} in any case, otherwise {@code false}.
+     */
+    private static boolean equalsIgnoreCase(@NonNull final String word, @NonNull final CharSequence value) {
+        if (word.length() != value.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < word.length(); ++i) {
+            if (Character.toLowerCase(value.charAt(i)) != word.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Hash a value as if it were lowercase.
+     *
+     * @param value Value to hash.
+     * @return Hash of the lowercase value.
+     */
+    private static int hash(@NonNull final CharSequence value) {
+        int hash = value.length();
+
+        for (int i = 0; i < value.length(); ++i) {
+            hash = hash * 31 + Character.toLowerCase(value.charAt(i));
+        }
+
+        // Spread the high bits into the low bits used by the mask
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Lowercase a word without depending on the default locale, like the lookup does.
+     *
+     * @param word Word to lowercase.
+     * @return Lowercase word.
+     */
+    private static String lowercase(@NonNull final String word) {
+        final StringBuilder builder = new StringBuilder(word.length());
+
+        for (int i = 0; i < word.length(); ++i) {
+            builder.append(Character.toLowerCase(word.charAt(i)));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Create the error for a value which isn't a boolean.
+     *
+     * @param value Invalid value.
+     * @return Parse error.
+     */
+    private ParseError error(@NonNull final CharSequence value) {
+        return ParseError.malformed(value, "Boolean", validValuesHint);
+    }
+
+    /**
+     * Find the table entry for a value.
+     *
+     * @param value Non-empty value to find.
+     * @return Table index, or -1 if the value isn't a known word.
+     */
+    private int find(@NonNull final CharSequence value) {
+        for (int i = hash(value) & mask; table[i] != null; i = (i + 1) & mask) {
+            if (equalsIgnoreCase(table[i], value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Insert a word into the table.
+     *
+     * @param word  Lowercase word.
+     * @param value Value of the word.
+     * @throws IllegalArgumentException if the word is already in the table with a different value.
+     */
+    private void insert(@NonNull final String word, final boolean value) {
+        final int index = find(word);
+
+        if (index >= 0) {
+            if (tableValues[index] != value) {
+                throw new IllegalArgumentException("\"" + word + "\" can't be both true and false");
+            }
+
+            return;
+        }
+
+        int i = hash(word) & mask;
+
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+
+        table[i] = word;
+        tableValues[i] = value;
+    }
+
+    /* ********************************************* Nested classes ********************************************* */
+
+    /**
+     * {@link BooleanParser} builder.
+     *
+     * @author Ryan Porterfield
+     * @since 1.0.0
+     */
+    public static final class Builder {
+        /**
+         * Lowercase words for a false argument.
+         */
+        private final List<String> falseWords = new ArrayList<>(FALSE_VALUES);
+        /**
+         * Lowercase words for a true argument.
+         */
+        private final List<String> trueWords = new ArrayList<>(TRUE_VALUES);
+
+        /**
+         * Hide constructor.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Add words which mean false, such as {@code off} or {@code 0}.
+         *
+         * @param words Words, matched ignoring case.
+         * @return This builder.
+         * @throws IllegalArgumentException if a word is empty.
+         */
+        public Builder falseWords(@NonNull final String... words) {
+            add(falseWords, words);
+
+            return this;
+        }
+
+        /**
+         * Add words which mean true, such as {@code on} or {@code 1}.
+         *
+         * @param words Words, matched ignoring case.
+         * @return This builder.
+         * @throws IllegalArgumentException if a word is empty.
+         */
+        public Builder trueWords(@NonNull final String... words) {
+            add(trueWords, words);
+
+            return this;
+        }
+
+        /**
+         * Build the parser.
+         *
+         * @return New parser.
+         * @throws IllegalArgumentException if a word means both true and false.
+         */
+        public BooleanParser build() {
+            return new BooleanParser(List.copyOf(falseWords), List.copyOf(trueWords));
+        }
+
+        /**
+         * Add words to a vocabulary.
+         *
+         * @param vocabulary Vocabulary to add to.
+         * @param words      Words to add.
+         */
+        private static void add(@NonNull final List<String> vocabulary, @NonNull final String... words) {
+            for (final String word : words) {
+                if (word.isEmpty()) {
+                    // An empty value already means the flag is present without a value
+                    throw new IllegalArgumentException("Boolean words must not be empty");
+                }
+
+                final String lowercase = lowercase(word);
+
+                if (!vocabulary.contains(lowercase)) {
+                    vocabulary.add(lowercase);
+                }
+            }
+        }
     }
 }
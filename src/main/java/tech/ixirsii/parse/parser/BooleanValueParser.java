@@ -0,0 +1,28 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+
+/**
+ * {@link Parser} which can deliver a {@code boolean} without boxing it.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public non-sealed interface BooleanValueParser extends PrimitiveParser<Boolean> {
+    /**
+     * Parse input as a {@code boolean}.
+     *
+     * <p>
+     * Calls {@link PrimitiveSink#setBoolean(boolean)} with the parsed value, or
+     * {@link PrimitiveSink#fail(ParseError)} if the value can't be parsed.
+     *
+     * @param value Argument value.
+     * @param sink  Receiver for the parsed value or error.
+     */
+    void parseBoolean(@NonNull CharSequence value, @NonNull PrimitiveSink sink);
+
+    @Override
+    default void parseInto(@NonNull final CharSequence value, @NonNull final PrimitiveSink sink) {
+        parseBoolean(value, sink);
+    }
+}
@@ -7,15 +7,27 @@ import tech.ixirsii.parse.command.ArgumentValueCount;
 /**
  * {@link Parser} for byte values.
  *
+ * <p>
+ * Accepts {@code 0x}, {@code 0o} and {@code 0b} prefixes and {@code _} digit separators. Invalid input is reported
+ * through the result without throwing an exception.
+ *
  * @author Ryan Porterfield
  * @since 1.0.0
  */
 @Slf4j
 public final class ByteParser implements Parser<Byte> {
+    /**
+     * Parse unsigned values? Unsigned values are stored as the bit pattern of the same width.
+     */
+    private final boolean isUnsigned;
+
     /**
      * Hide constructor.
+     *
+     * @param isUnsigned Parse unsigned values?
      */
-    /* default */ ByteParser() {
+    /* default */ ByteParser(final boolean isUnsigned) {
+        this.isUnsigned = isUnsigned;
     }
 
     @NonNull
@@ -26,12 +38,43 @@ public final class ByteParser implements Parser<Byte> {
 
     @Override
     public @NonNull ParseResult<Byte> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<Byte> parse(@NonNull final CharSequence value) {
         log.trace("Parsing {} as byte", value);
 
-        try {
-            return new ParseResult<>(Byte.parseByte(value), true, "");
-        } catch (final NumberFormatException e) {
-            return new ParseResult<>(null, false, "Byte required but got " + value);
+        final Byte parsed = scan(value);
+
+        if (parsed != null) {
+            return ParseResult.success(parsed);
+        } else {
+            return ParseResult.failure(error(value));
+        }
+    }
+
+    /**
+     * Create the error for a value which isn't a byte.
+     *
+     * @param value Invalid value.
+     * @return Parse error.
+     */
+    private ParseError error(@NonNull final CharSequence value) {
+        return ParseError.malformed(value, isUnsigned ? "Unsigned byte" : "Byte");
+    }
+
+    /**
+     * Scan a value.
+     *
+     * @param value Value to scan.
+     * @return Scanned value, or {@code null} if it isn't valid.
+     */
+    private Byte scan(@NonNull final CharSequence value) {
+        if (isUnsigned) {
+            return IntegerScanner.scanUnsigned(value, 0xFFL, scanned -> (byte) scanned);
+        } else {
+            return IntegerScanner.scanSigned(value, Byte.MIN_VALUE, Byte.MAX_VALUE, scanned -> (byte) scanned);
         }
     }
 }
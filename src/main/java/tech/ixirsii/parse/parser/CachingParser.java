@@ -0,0 +1,249 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import tech.ixirsii.parse.command.ArgumentValueCount;
+import tech.ixirsii.parse.internal.BoundedCache;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link Parser} decorator which caches the results of an expensive parser by input.
+ *
+ * <p>
+ * The cache is split into independently locked segments, chosen by the hash of the input, so threads sharing one
+ * {@link tech.ixirsii.parse.command.Command} rarely wait for each other. The wrapped parser runs outside the lock,
+ * so two threads which miss on the same input at once may both parse it; the parser must return equal results for
+ * equal input, at least until an entry expires. Both successful and failed results are cached.
+ *
+ * <p>
+ * The cache holds at most {@link Builder#maximumSize(int)} entries. With {@link EvictionPolicy#LRU} the least
+ * recently used entry is evicted. With {@link EvictionPolicy#W_TINY_LFU} new entries wait in a small LRU window and
+ * are only admitted to the main cache if they have been seen more often than the entry they would evict, which keeps
+ * popular inputs cached when a burst of one-off inputs passes through. See {@link BoundedCache}.
+ *
+ * @author Ryan Porterfield
+ * @param <T> Parser return type.
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CachingParser<T> implements Parser<T> {
+    /**
+     * Cached results by input.
+     */
+    private final BoundedCache<String, ParseResult<T>> cache;
+    /**
+     * Wrapped parser.
+     */
+    private final Parser<T> parser;
+
+    /**
+     * Constructor.
+     *
+     * @param builder Builder.
+     */
+    private CachingParser(@NonNull final Builder<T> builder) {
+        this.cache = new BoundedCache<>(
+            builder.maximumSize,
+            builder.policy == EvictionPolicy.W_TINY_LFU,
+            builder.expireAfterWrite.toNanos(),
+            builder.ticker
+        );
+        this.parser = builder.parser;
+    }
+
+    /**
+     * Create a new builder.
+     *
+     * @param parser Parser to cache the results of.
+     * @param <T>    Parser return type.
+     * @return New builder.
+     */
+    public static <T> Builder<T> builder(@NonNull final Parser<T> parser) {
+        return new Builder<>(parser);
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @NonNull
+    @Override
+    public ArgumentValueCount getValueCount() {
+        return parser.getValueCount();
+    }
+
+    @Override
+    public @NonNull ParseResult<T> parse(@NonNull final String value) {
+        final ParseResult<T> cached = cache.get(value);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        log.trace("Cache miss for {}", value);
+
+        final ParseResult<T> result = parser.parse(value);
+
+        cache.put(value, result);
+
+        return result;
+    }
+
+    /* ********************************************* Public methods ********************************************* */
+
+    /**
+     * Number of entries removed to make room or because they expired.
+     *
+     * @return Eviction count.
+     */
+    public long evictions() {
+        return cache.evictions();
+    }
+
+    /**
+     * Number of lookups which found a valid entry.
+     *
+     * @return Hit count.
+     */
+    public long hits() {
+        return cache.hits();
+    }
+
+    /**
+     * Number of lookups which had to parse.
+     *
+     * @return Miss count.
+     */
+    public long misses() {
+        return cache.misses();
+    }
+
+    /**
+     * Number of cached entries, including expired entries which haven't been removed yet.
+     *
+     * @return Entry count.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Eviction policy.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Evict the least recently used entry.
+         */
+        LRU,
+        /**
+         * Admit new entries through a small LRU window, and only into the main cache if they are used more often than
+         * the entry they would evict.
+         */
+        W_TINY_LFU
+    }
+
+    /**
+     * {@link CachingParser} builder.
+     *
+     * @param <T> Parser return type.
+     */
+    public static final class Builder<T> {
+        /**
+         * Wrapped parser.
+         */
+        private final Parser<T> parser;
+
+        /**
+         * How long an entry stays valid after it is written, or zero if entries don't expire.
+         */
+        private Duration expireAfterWrite = Duration.ZERO;
+        /**
+         * Maximum number of entries.
+         */
+        private int maximumSize = 1024;
+        /**
+         * Eviction policy.
+         */
+        private EvictionPolicy policy = EvictionPolicy.W_TINY_LFU;
+        /**
+         * Source of the current time in nanoseconds.
+         */
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * Constructor.
+         *
+         * @param parser Parser to cache the results of.
+         */
+        private Builder(@NonNull final Parser<T> parser) {
+            this.parser = parser;
+        }
+
+        /**
+         * Build the parser.
+         *
+         * @return New caching parser.
+         */
+        public CachingParser<T> build() {
+            return new CachingParser<>(this);
+        }
+
+        /**
+         * Expire entries a fixed time after they are written, such as for values resolved from data that can change.
+         *
+         * @param duration How long an entry stays valid, or zero for entries which never expire.
+         * @return This builder.
+         * @throws IllegalArgumentException if {@code duration} is negative.
+         */
+        public Builder<T> expireAfterWrite(@NonNull final Duration duration) {
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException("Expiry must not be negative but was " + duration);
+            }
+
+            expireAfterWrite = duration;
+
+            return this;
+        }
+
+        /**
+         * Set the maximum number of cached entries. Defaults to 1024.
+         *
+         * @param size Maximum size.
+         * @return This builder.
+         * @throws IllegalArgumentException if {@code size} isn't positive.
+         */
+        public Builder<T> maximumSize(final int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive but was " + size);
+            }
+
+            maximumSize = size;
+
+            return this;
+        }
+
+        /**
+         * Set the eviction policy. Defaults to {@link EvictionPolicy#W_TINY_LFU}.
+         *
+         * @param evictionPolicy Eviction policy.
+         * @return This builder.
+         */
+        public Builder<T> policy(@NonNull final EvictionPolicy evictionPolicy) {
+            policy = evictionPolicy;
+
+            return this;
+        }
+
+        /**
+         * Set the source of the current time used for expiry. Defaults to {@link System#nanoTime()}.
+         *
+         * @param nanoTicker Source of the current time in nanoseconds.
+         * @return This builder.
+         */
+        public Builder<T> ticker(@NonNull final LongSupplier nanoTicker) {
+            ticker = nanoTicker;
+
+            return this;
+        }
+    }
+}
@@ -26,12 +26,17 @@ public final class CharParser implements Parser<Character> {
 
     @Override
     public @NonNull ParseResult<Character> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<Character> parse(@NonNull final CharSequence value) {
         log.trace("Parsing {} as char", value);
 
         if (value.length() != 1) {
-            return new ParseResult<>(null, false, "Character required but got " + value);
+            return ParseResult.failure(ParseError.malformed(value, "Character"));
         }
 
-        return new ParseResult<>(value.charAt(0), true, "");
+        return ParseResult.success(value.charAt(0));
     }
 }
@@ -7,11 +7,15 @@ import tech.ixirsii.parse.command.ArgumentValueCount;
 /**
  * {@link Parser} for double values.
  *
+ * <p>
+ * Accepts the same text as {@link Double#parseDouble(String)} and produces identical values, but reports invalid input
+ * through the result without throwing an exception.
+ *
  * @author Ryan Porterfield
  * @since 1.0.0
  */
 @Slf4j
-public final class DoubleParser implements Parser<Double> {
+public final class DoubleParser implements DoubleValueParser {
     /**
      * Hide constructor.
      */
@@ -26,12 +30,26 @@ public final class DoubleParser implements Parser<Double> {
 
     @Override
     public @NonNull ParseResult<Double> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<Double> parse(@NonNull final CharSequence value) {
         log.trace("Parsing {} as double", value);
 
-        try {
-            return new ParseResult<>(Double.parseDouble(value), true, "");
-        } catch (final NumberFormatException e) {
-            return new ParseResult<>(null, false, "Double required but got " + value);
+        final Double parsed = FloatingScanner.scanDouble(value, Double::valueOf);
+
+        if (parsed != null) {
+            return ParseResult.success(parsed);
+        } else {
+            return ParseResult.failure(ParseError.malformed(value, "Double"));
+        }
+    }
+
+    @Override
+    public void parseDouble(@NonNull final CharSequence value, @NonNull final PrimitiveSink sink) {
+        if (!FloatingScanner.scanInto(value, sink)) {
+            sink.fail(ParseError.malformed(value, "Double"));
         }
     }
 }
@@ -0,0 +1,243 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+import tech.ixirsii.parse.internal.StringSplitter;
+import tech.ixirsii.parse.internal.TextSlice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cursor over the delimited elements of one list value, such as {@code 1, 2, "3,4"}.
+ *
+ * <p>
+ * Whitespace around an element is ignored. An element which starts with a quote (see
+ * {@link StringSplitter#isQuote(char)}) runs to the matching quote, so it may contain the delimiter, and the quotes
+ * are removed. A value which is empty or only whitespace has no elements.
+ *
+ * <p>
+ * The cursor is itself a {@link CharSequence} view of the current element, so a primitive parser can read each
+ * element without a new object being created for it. The view changes when the cursor moves; use {@link #slice()}
+ * for a copy which can be kept.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+final class ElementCursor implements CharSequence {
+    /**
+     * Element delimiter.
+     */
+    private final char delimiter;
+    /**
+     * List value.
+     */
+    private final CharSequence text;
+
+    /**
+     * End of the current element (exclusive).
+     */
+    private int end;
+    /**
+     * Start of the next element, or -1 if there are no more elements.
+     */
+    private int next;
+    /**
+     * Start of the current element (inclusive).
+     */
+    private int start;
+
+    /**
+     * Constructor.
+     *
+     * @param text      List value.
+     * @param delimiter Element delimiter.
+     */
+    /* default */ ElementCursor(@NonNull final CharSequence text, final char delimiter) {
+        this.delimiter = delimiter;
+        this.text = text;
+        this.next = skipWhitespace(0) == text.length() ? -1 : 0;
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @Override
+    public char charAt(final int index) {
+        return text.charAt(start + index);
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public @NonNull CharSequence subSequence(final int subStart, final int subEnd) {
+        return new TextSlice(text, start + subStart, start + subEnd);
+    }
+
+    @Override
+    public @NonNull String toString() {
+        return text.subSequence(start, end).toString();
+    }
+
+    /* ***************************************** Default access methods ***************************************** */
+
+    /**
+     * Count the elements without moving the cursor, so that results can be sized exactly.
+     *
+     * @return Number of elements.
+     */
+    /* default */ int count() {
+        if (skipWhitespace(0) == text.length()) {
+            return 0;
+        }
+
+        int count = 1;
+
+        for (int i = elementEnd(0); i < text.length(); i = elementEnd(i + 1)) {
+            ++count;
+        }
+
+        return count;
+    }
+
+    /**
+     * Move to the next element.
+     *
+     * @return {@code true} if there was another element, otherwise {@code false}.
+     */
+    /* default */ boolean next() {
+        if (next < 0) {
+            return false;
+        }
+
+        final int stop = elementEnd(next);
+        int first = skipWhitespace(next);
+        int last = stop;
+
+        while (last > first && Character.isWhitespace(text.charAt(last - 1))) {
+            --last;
+        }
+
+        if (last - first >= 2 && StringSplitter.isQuote(text.charAt(first))
+                && text.charAt(last - 1) == text.charAt(first)) {
+            ++first;
+            --last;
+        }
+
+        start = first;
+        end = last;
+        next = stop < text.length() ? stop + 1 : -1;
+
+        return true;
+    }
+
+    /**
+     * Parse every element into a sink with a primitive parser.
+     *
+     * @param parser     Element parser.
+     * @param sink       Receives each element in order.
+     * @param isFailFast Stop at the first invalid element?
+     * @return Error if any element was invalid, otherwise {@code null}.
+     */
+    /* default */ ParseError parseInto(
+        @NonNull final PrimitiveParser<?> parser,
+        @NonNull final ElementSink sink,
+        final boolean isFailFast
+    ) {
+        List<ParseError> errors = null;
+
+        while (next()) {
+            parser.parseInto(this, sink);
+
+            if (sink.takeFailure()) {
+                // The sink's error refers to this cursor, which is about to move, so describe a stable copy instead
+                final ParseError error = parser.parse(slice()).error();
+
+                if (isFailFast) {
+                    return error;
+                } else if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+
+                errors.add(error);
+            }
+        }
+
+        return errors == null ? null : invalid(errors);
+    }
+
+    /**
+     * Get a copy of the current element which doesn't change when the cursor moves.
+     *
+     * @return Current element.
+     */
+    /* default */ @NonNull TextSlice slice() {
+        return new TextSlice(text, start, end);
+    }
+
+    /**
+     * Combine the errors of several invalid elements.
+     *
+     * @param errors Element errors.
+     * @return Combined error.
+     */
+    /* default */ static ParseError invalid(@NonNull final List<ParseError> errors) {
+        if (errors.size() == 1) {
+            return errors.getFirst();
+        }
+
+        final StringBuilder message = new StringBuilder().append(errors.size()).append(" invalid elements: ");
+
+        for (int i = 0; i < errors.size(); ++i) {
+            message.append(i == 0 ? "" : "; ").append(errors.get(i).message());
+        }
+
+        return ParseError.custom(message.toString());
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Find the end of the element starting at an index.
+     *
+     * @param from Start of the element.
+     * @return Index of the delimiter after the element, or the length of the text.
+     */
+    private int elementEnd(final int from) {
+        int i = skipWhitespace(from);
+
+        if (i < text.length() && StringSplitter.isQuote(text.charAt(i))) {
+            final char quote = text.charAt(i);
+
+            for (int j = i + 1; j < text.length(); ++j) {
+                if (text.charAt(j) == quote) {
+                    i = j + 1;
+                    break;
+                }
+            }
+        }
+
+        while (i < text.length() && text.charAt(i) != delimiter) {
+            ++i;
+        }
+
+        return i;
+    }
+
+    /**
+     * Skip whitespace.
+     *
+     * @param from Index to start from.
+     * @return Index of the next non-whitespace character or the length of the text.
+     */
+    private int skipWhitespace(final int from) {
+        int i = from;
+
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            ++i;
+        }
+
+        return i;
+    }
+}
@@ -0,0 +1,120 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+
+/**
+ * {@link PrimitiveSink} which stores each parsed element at the next index of a primitive array.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+final class ElementSink implements PrimitiveSink {
+    /**
+     * Double elements, or {@code null}.
+     */
+    private final double[] doubles;
+    /**
+     * Integer elements, or {@code null}.
+     */
+    private final int[] ints;
+    /**
+     * Long elements, or {@code null}.
+     */
+    private final long[] longs;
+
+    /**
+     * Did the last element fail to parse?
+     */
+    private boolean isFailed;
+    /**
+     * Index of the next element.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param doubles Double elements, or {@code null}.
+     * @param ints    Integer elements, or {@code null}.
+     * @param longs   Long elements, or {@code null}.
+     */
+    private ElementSink(final double[] doubles, final int[] ints, final long[] longs) {
+        this.doubles = doubles;
+        this.ints = ints;
+        this.longs = longs;
+    }
+
+    /**
+     * Create a sink for double elements.
+     *
+     * @param values Array sized to hold every element.
+     * @return New sink.
+     */
+    /* default */ static ElementSink of(@NonNull final double[] values) {
+        return new ElementSink(values, null, null);
+    }
+
+    /**
+     * Create a sink for integer elements.
+     *
+     * @param values Array sized to hold every element.
+     * @return New sink.
+     */
+    /* default */ static ElementSink of(@NonNull final int[] values) {
+        return new ElementSink(null, values, null);
+    }
+
+    /**
+     * Create a sink for long elements.
+     *
+     * @param values Array sized to hold every element.
+     * @return New sink.
+     */
+    /* default */ static ElementSink of(@NonNull final long[] values) {
+        return new ElementSink(null, null, values);
+    }
+
+    /* ******************************************** Override methods ******************************************** */
+
+    @Override
+    public void fail(@NonNull final ParseError error) {
+        // The error refers to the element cursor, so it isn't kept
+        isFailed = true;
+        ++size;
+    }
+
+    @Override
+    public void setBoolean(final boolean parsed) {
+        throw new UnsupportedOperationException("Array elements can't be booleans");
+    }
+
+    @Override
+    public void setDouble(final double parsed) {
+        doubles[size++] = parsed;
+    }
+
+    @Override
+    public void setInt(final int parsed) {
+        ints[size++] = parsed;
+    }
+
+    @Override
+    public void setLong(final long parsed) {
+        longs[size++] = parsed;
+    }
+
+    /* ***************************************** Default access methods ***************************************** */
+
+    /**
+     * Check if the last element failed to parse, and clear the failure.
+     *
+     * @return {@code true} if the last element failed, otherwise {@code false}.
+     */
+    /* default */ boolean takeFailure() {
+        final boolean wasFailed = isFailed;
+
+        isFailed = false;
+
+        return wasFailed;
+    }
+}
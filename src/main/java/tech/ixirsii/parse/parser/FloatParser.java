@@ -7,6 +7,10 @@ import tech.ixirsii.parse.command.ArgumentValueCount;
 /**
  * {@link Parser} for float values.
  *
+ * <p>
+ * Accepts the same text as {@link Float#parseFloat(String)} and produces identical values, but reports invalid input
+ * through the result without throwing an exception.
+ *
  * @author Ryan Porterfield
  * @since 1.0.0
  */
@@ -26,12 +30,19 @@ public final class FloatParser implements Parser<Float> {
 
     @Override
     public @NonNull ParseResult<Float> parse(@NonNull final String value) {
-        log.trace("Parsing {} as flaot", value);
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<Float> parse(@NonNull final CharSequence value) {
+        log.trace("Parsing {} as float", value);
+
+        final Float parsed = FloatingScanner.scanFloat(value, scanned -> (float) scanned);
 
-        try {
-            return new ParseResult<>(Float.parseFloat(value), true, "");
-        } catch (final NumberFormatException e) {
-            return new ParseResult<>(null, false, "Float required but got " + value);
+        if (parsed != null) {
+            return ParseResult.success(parsed);
+        } else {
+            return ParseResult.failure(ParseError.malformed(value, "Float"));
         }
     }
 }
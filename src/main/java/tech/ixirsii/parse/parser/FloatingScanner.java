@@ -0,0 +1,400 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+
+import java.util.function.DoubleFunction;
+
+/**
+ * Validating floating point scanner which reports bad input through its result instead of throwing.
+ *
+ * <p>
+ * Accepts the same text as {@link Double#parseDouble(String)} and produces bit-identical values. Decimal values with
+ * a short significand and a small exponent are converted directly from the character range with one correctly
+ * rounded multiplication or division by an exact power of ten. Everything else is validated here first and then
+ * handed to the JDK, so the JDK never sees text it would reject.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+final class FloatingScanner {
+    /**
+     * Powers of ten which are exact doubles.
+     */
+    private static final double[] DOUBLE_POWERS = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+    /**
+     * Largest significand which is an exact double.
+     */
+    private static final long DOUBLE_SIGNIFICAND_LIMIT = 1L << 53;
+    /**
+     * Largest explicit exponent tracked. Larger exponents overflow or underflow whatever the significand is.
+     */
+    private static final int EXPONENT_LIMIT = 100_000;
+    /**
+     * Powers of ten which are exact floats.
+     */
+    private static final float[] FLOAT_POWERS = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f,
+    };
+    /**
+     * Largest significand which is an exact float.
+     */
+    private static final long FLOAT_SIGNIFICAND_LIMIT = 1L << 24;
+    /**
+     * Most significant digits which fit in a {@code long}.
+     */
+    private static final int MAX_DIGITS = 18;
+
+    /**
+     * Hide utility class constructor.
+     */
+    private FloatingScanner() {
+    }
+
+    /**
+     * Scan a double.
+     *
+     * @param text    Text to scan.
+     * @param convert Converts the scanned value to the result.
+     * @param <R>     Result type.
+     * @return Converted value, or {@code null} if the text isn't a valid double.
+     */
+    /* default */ static <R> R scanDouble(@NonNull final CharSequence text, @NonNull final DoubleFunction<R> convert) {
+        return scan(text, false, convert, DoubleFunction::apply);
+    }
+
+    /**
+     * Scan a float.
+     *
+     * @param text    Text to scan.
+     * @param convert Converts the scanned value, widened to a double, to the result.
+     * @param <R>     Result type.
+     * @return Converted value, or {@code null} if the text isn't a valid float.
+     */
+    /* default */ static <R> R scanFloat(@NonNull final CharSequence text, @NonNull final DoubleFunction<R> convert) {
+        return scan(text, true, convert, DoubleFunction::apply);
+    }
+
+    /**
+     * Scan a double straight into a sink, without allocating.
+     *
+     * @param text Text to scan.
+     * @param sink Receives the value with {@link PrimitiveSink#setDouble(double)} if the text is valid. Not called
+     *             otherwise.
+     * @return {@code true} if the text was a valid double, otherwise {@code false}.
+     */
+    /* default */ static boolean scanInto(@NonNull final CharSequence text, @NonNull final PrimitiveSink sink) {
+        return scan(text, false, sink, FloatingScanner::setDouble) != null;
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Scan a floating point value.
+     *
+     * @param text     Text to scan.
+     * @param isFloat  Round to a float instead of a double?
+     * @param target   Passed to {@code receiver} with the value.
+     * @param receiver Receives the value if the text is valid. Must not return {@code null}.
+     * @param <T>      Target type.
+     * @param <R>      Result type.
+     * @return Result of {@code receiver}, or {@code null} if the text isn't a valid floating point value.
+     */
+    private static <T, R> R scan(
+        @NonNull final CharSequence text,
+        final boolean isFloat,
+        final T target,
+        @NonNull final Receiver<T, R> receiver
+    ) {
+        // Surrounding whitespace is ignored, like String.trim()
+        int start = 0;
+        int end = text.length();
+
+        while (start < end && text.charAt(start) <= ' ') {
+            ++start;
+        }
+
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            --end;
+        }
+
+        int i = start;
+        boolean isNegative = false;
+
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            isNegative = text.charAt(i) == '-';
+            ++i;
+        }
+
+        if (i < end && (text.charAt(i) == 'N' || text.charAt(i) == 'I')) {
+            return special(text, i, end, isNegative, target, receiver);
+        }
+
+        if (i + 1 < end && text.charAt(i) == '0' && (text.charAt(i + 1) == 'x' || text.charAt(i + 1) == 'X')) {
+            return isHexadecimal(text, i + 2, end) ? convert(text, start, end, isFloat, target, receiver) : null;
+        }
+
+        long significand = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+
+        for (; i < end && isDigit(text.charAt(i)); ++i) {
+            ++digits;
+
+            if (significand != 0 || text.charAt(i) != '0') {
+                if (++significantDigits <= MAX_DIGITS) {
+                    significand = significand * 10 + text.charAt(i) - '0';
+                }
+            }
+        }
+
+        if (i < end && text.charAt(i) == '.') {
+            for (++i; i < end && isDigit(text.charAt(i)); ++i) {
+                ++digits;
+
+                if (significand != 0 || text.charAt(i) != '0') {
+                    if (++significantDigits <= MAX_DIGITS) {
+                        significand = significand * 10 + text.charAt(i) - '0';
+                    }
+                }
+
+                --exponent;
+            }
+        }
+
+        if (digits == 0) {
+            return null;
+        }
+
+        if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            ++i;
+
+            boolean isExponentNegative = false;
+
+            if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+                isExponentNegative = text.charAt(i) == '-';
+                ++i;
+            }
+
+            final int exponentStart = i;
+            int explicit = 0;
+
+            for (; i < end && isDigit(text.charAt(i)); ++i) {
+                explicit = Math.min(explicit * 10 + text.charAt(i) - '0', EXPONENT_LIMIT);
+            }
+
+            if (i == exponentStart) {
+                return null;
+            }
+
+            exponent += isExponentNegative ? -explicit : explicit;
+        }
+
+        if (i < end && isSuffix(text.charAt(i))) {
+            ++i;
+        }
+
+        if (i != end) {
+            return null;
+        }
+
+        if (significantDigits > MAX_DIGITS) {
+            return convert(text, start, end, isFloat, target, receiver);
+        }
+
+        final double value;
+
+        if (isFloat) {
+            if (significand > FLOAT_SIGNIFICAND_LIMIT || Math.abs(exponent) >= FLOAT_POWERS.length) {
+                return convert(text, start, end, true, target, receiver);
+            }
+
+            // Both operands are exact floats, so float arithmetic rounds once, correctly
+            final float exact = significand;
+
+            value = exponent >= 0 ? exact * FLOAT_POWERS[exponent] : exact / FLOAT_POWERS[-exponent];
+        } else {
+            if (significand > DOUBLE_SIGNIFICAND_LIMIT || Math.abs(exponent) >= DOUBLE_POWERS.length) {
+                return convert(text, start, end, false, target, receiver);
+            }
+
+            // Both operands are exact doubles, so double arithmetic rounds once, correctly
+            final double exact = significand;
+
+            value = exponent >= 0 ? exact * DOUBLE_POWERS[exponent] : exact / DOUBLE_POWERS[-exponent];
+        }
+
+        return receiver.receive(target, isNegative ? -value : value);
+    }
+
+    /**
+     * Convert validated text with the JDK.
+     *
+     * @param text     Text to convert.
+     * @param start    Start of the value (inclusive).
+     * @param end      End of the value (exclusive).
+     * @param isFloat  Round to a float instead of a double?
+     * @param target   Passed to {@code receiver} with the value.
+     * @param receiver Receives the converted value.
+     * @param <T>      Target type.
+     * @param <R>      Result type.
+     * @return Result of {@code receiver}, or {@code null} if the JDK rejects the text.
+     */
+    private static <T, R> R convert(
+        @NonNull final CharSequence text,
+        final int start,
+        final int end,
+        final boolean isFloat,
+        final T target,
+        @NonNull final Receiver<T, R> receiver
+    ) {
+        final String value = text.subSequence(start, end).toString();
+        final double converted;
+
+        try {
+            converted = isFloat ? Float.parseFloat(value) : Double.parseDouble(value);
+        } catch (final NumberFormatException e) {
+            // Unreachable for validated text, but never let it escape
+            return null;
+        }
+
+        return receiver.receive(target, converted);
+    }
+
+    /**
+     * Check if a character is a decimal digit.
+     *
+     * @param c Character to check.
+     * @return {@code true} if the character is {@code 0} to {@code 9}, otherwise {@code false}.
+     */
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Check if the text after a {@code 0x} prefix is a hexadecimal floating point value.
+     *
+     * @param text  Text to check.
+     * @param start Index after the prefix.
+     * @param end   End of the value (exclusive).
+     * @return {@code true} if the text is valid, otherwise {@code false}.
+     */
+    private static boolean isHexadecimal(@NonNull final CharSequence text, final int start, final int end) {
+        int i = start;
+        int digits = 0;
+
+        for (; i < end && Character.digit(text.charAt(i), 16) >= 0; ++i) {
+            ++digits;
+        }
+
+        if (i < end && text.charAt(i) == '.') {
+            for (++i; i < end && Character.digit(text.charAt(i), 16) >= 0; ++i) {
+                ++digits;
+            }
+        }
+
+        // The binary exponent is required
+        if (digits == 0 || i >= end || text.charAt(i) != 'p' && text.charAt(i) != 'P') {
+            return false;
+        }
+
+        ++i;
+
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            ++i;
+        }
+
+        final int exponentStart = i;
+
+        while (i < end && isDigit(text.charAt(i))) {
+            ++i;
+        }
+
+        if (i == exponentStart) {
+            return false;
+        }
+
+        if (i < end && isSuffix(text.charAt(i))) {
+            ++i;
+        }
+
+        return i == end;
+    }
+
+    /**
+     * Check if a character is a type suffix.
+     *
+     * @param c Character to check.
+     * @return {@code true} if the character is {@code f}, {@code F}, {@code d} or {@code D}, otherwise {@code false}.
+     */
+    private static boolean isSuffix(final char c) {
+        return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+    }
+
+    /**
+     * Scan {@code NaN} or {@code Infinity}.
+     *
+     * @param text       Text to scan.
+     * @param start      Index after the sign.
+     * @param end        End of the value (exclusive).
+     * @param isNegative Was there a minus sign?
+     * @param target     Passed to {@code receiver} with the value.
+     * @param receiver   Receives the value if the text is valid.
+     * @param <T>        Target type.
+     * @param <R>        Result type.
+     * @return Result of {@code receiver}, or {@code null} if the text isn't {@code NaN} or {@code Infinity}.
+     */
+    private static <T, R> R special(
+        @NonNull final CharSequence text,
+        final int start,
+        final int end,
+        final boolean isNegative,
+        final T target,
+        @NonNull final Receiver<T, R> receiver
+    ) {
+        final CharSequence rest = text.subSequence(start, end);
+
+        if ("NaN".contentEquals(rest)) {
+            return receiver.receive(target, Double.NaN);
+        } else if ("Infinity".contentEquals(rest)) {
+            return receiver.receive(target, isNegative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Pass a scanned value to a sink.
+     *
+     * @param sink  Sink to receive the value.
+     * @param value Scanned value.
+     * @return {@link Boolean#TRUE}.
+     */
+    private static Boolean setDouble(@NonNull final PrimitiveSink sink, final double value) {
+        sink.setDouble(value);
+
+        return Boolean.TRUE;
+    }
+
+    /**
+     * Receives a valid scanned value. Taking the target as a parameter lets method references be used without
+     * capturing it, so scanning doesn't allocate.
+     *
+     * @param <T> Target type.
+     * @param <R> Result type.
+     */
+    @FunctionalInterface
+    private interface Receiver<T, R> {
+        /**
+         * Receive a scanned value.
+         *
+         * @param target Target passed to the scan.
+         * @param value  Scanned value.
+         * @return Non-null result.
+         */
+        R receive(T target, double value);
+    }
+}
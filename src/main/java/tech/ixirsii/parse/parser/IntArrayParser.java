@@ -0,0 +1,75 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import tech.ixirsii.parse.command.ArgumentValueCount;
+
+/**
+ * {@link Parser} for delimited lists of integers, such as {@code 1,2,3}, into a {@code int[]}.
+ *
+ * <p>
+ * Elements are split as by {@link ListParser} but are parsed straight into an array which is sized by counting the
+ * elements first, so no element is boxed or copied into a string.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+@Slf4j
+public final class IntArrayParser implements Parser<int[]> {
+    /**
+     * Element delimiter.
+     */
+    private final char delimiter;
+    /**
+     * Stop at the first invalid element?
+     */
+    private final boolean isFailFast;
+    /**
+     * Element parser.
+     */
+    private final IntValueParser parser;
+
+    /**
+     * Constructor for a comma separated list which stops at the first invalid element.
+     */
+    public IntArrayParser() {
+        // Parser constants may not be initialized yet when this is one of them
+        this(new IntParser(false), ListParser.DEFAULT_DELIMITER, true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param parser     Element parser.
+     * @param delimiter  Element delimiter.
+     * @param isFailFast Stop at the first invalid element? Otherwise every element is parsed and the error describes
+     *                   all invalid elements.
+     */
+    public IntArrayParser(@NonNull final IntValueParser parser, final char delimiter, final boolean isFailFast) {
+        this.delimiter = delimiter;
+        this.isFailFast = isFailFast;
+        this.parser = parser;
+    }
+
+    @NonNull
+    @Override
+    public ArgumentValueCount getValueCount() {
+        return ArgumentValueCount.ONE;
+    }
+
+    @Override
+    public @NonNull ParseResult<int[]> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<int[]> parse(@NonNull final CharSequence value) {
+        log.trace("Parsing {} as int array", value);
+
+        final ElementCursor elements = new ElementCursor(value, delimiter);
+        final int[] values = new int[elements.count()];
+        final ParseError error = elements.parseInto(parser, ElementSink.of(values), isFailFast);
+
+        return error == null ? ParseResult.success(values) : ParseResult.failure(error);
+    }
+}
@@ -7,15 +7,27 @@ import tech.ixirsii.parse.command.ArgumentValueCount;
 /**
  * {@link Parser} for integer values.
  *
+ * <p>
+ * Accepts {@code 0x}, {@code 0o} and {@code 0b} prefixes and {@code _} digit separators. Invalid input is reported
+ * through the result without throwing an exception.
+ *
  * @author Ryan Porterfield
  * @since 1.0.0
  */
 @Slf4j
-public final class IntParser implements Parser<Integer> {
+public final class IntParser implements IntValueParser {
+    /**
+     * Parse unsigned values? Unsigned values are stored as the bit pattern of the same width.
+     */
+    private final boolean isUnsigned;
+
     /**
      * Hide constructor.
+     *
+     * @param isUnsigned Parse unsigned values?
      */
-    /* default */ IntParser() {
+    /* default */ IntParser(final boolean isUnsigned) {
+        this.isUnsigned = isUnsigned;
     }
 
     @NonNull
@@ -26,12 +38,54 @@ public final class IntParser implements Parser<Integer> {
 
     @Override
     public @NonNull ParseResult<Integer> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<Integer> parse(@NonNull final CharSequence value) {
         log.trace("Parsing {} as int", value);
 
-        try {
-            return new ParseResult<>(Integer.parseInt(value), true, "");
-        } catch (final NumberFormatException e) {
-            return new ParseResult<>(null, false, "Integer required but got " + value);
+        final Integer parsed = scan(value);
+
+        if (parsed != null) {
+            return ParseResult.success(parsed);
+        } else {
+            return ParseResult.failure(error(value));
+        }
+    }
+
+    @Override
+    public void parseInt(@NonNull final CharSequence value, @NonNull final PrimitiveSink sink) {
+        final boolean isValid = isUnsigned
+            ? IntegerScanner.scanInto(value, true, 0, 0xFFFF_FFFFL, sink, true)
+            : IntegerScanner.scanInto(value, false, Integer.MIN_VALUE, Integer.MAX_VALUE, sink, true);
+
+        if (!isValid) {
+            sink.fail(error(value));
+        }
+    }
+
+    /**
+     * Create the error for a value which isn't an integer.
+     *
+     * @param value Invalid value.
+     * @return Parse error.
+     */
+    private ParseError error(@NonNull final CharSequence value) {
+        return ParseError.malformed(value, isUnsigned ? "Unsigned integer" : "Integer");
+    }
+
+    /**
+     * Scan a value.
+     *
+     * @param value Value to scan.
+     * @return Scanned value, or {@code null} if it isn't valid.
+     */
+    private Integer scan(@NonNull final CharSequence value) {
+        if (isUnsigned) {
+            return IntegerScanner.scanUnsigned(value, 0xFFFF_FFFFL, scanned -> (int) scanned);
+        } else {
+            return IntegerScanner.scanSigned(value, Integer.MIN_VALUE, Integer.MAX_VALUE, scanned -> (int) scanned);
         }
     }
 }
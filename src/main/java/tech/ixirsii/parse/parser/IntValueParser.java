@@ -0,0 +1,28 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+
+/**
+ * {@link Parser} which can deliver an {@code int} without boxing it.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public non-sealed interface IntValueParser extends PrimitiveParser<Integer> {
+    /**
+     * Parse input as an {@code int}.
+     *
+     * <p>
+     * Calls {@link PrimitiveSink#setInt(int)} with the parsed value, or
+     * {@link PrimitiveSink#fail(ParseError)} if the value can't be parsed.
+     *
+     * @param value Argument value.
+     * @param sink  Receiver for the parsed value or error.
+     */
+    void parseInt(@NonNull CharSequence value, @NonNull PrimitiveSink sink);
+
+    @Override
+    default void parseInto(@NonNull final CharSequence value, @NonNull final PrimitiveSink sink) {
+        parseInt(value, sink);
+    }
+}
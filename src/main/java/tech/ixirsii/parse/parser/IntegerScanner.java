@@ -0,0 +1,250 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+
+import java.util.function.LongFunction;
+
+/**
+ * Validating integer scanner which reports bad input through its result instead of throwing.
+ *
+ * <p>
+ * Accepts an optional sign, an optional {@code 0x}, {@code 0o} or {@code 0b} radix prefix (in either case) and digits
+ * which may be separated by single underscores, such as {@code -0x7f_ff}. Unsigned values are returned as the bit
+ * pattern of the same width, like {@link Integer#parseUnsignedInt(String)}.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+final class IntegerScanner {
+    /**
+     * Binary radix.
+     */
+    private static final int BINARY = 2;
+    /**
+     * Decimal radix.
+     */
+    private static final int DECIMAL = 10;
+    /**
+     * Digit separator.
+     */
+    private static final char SEPARATOR = '_';
+    /**
+     * Hexadecimal radix.
+     */
+    private static final int HEXADECIMAL = 16;
+    /**
+     * Octal radix.
+     */
+    private static final int OCTAL = 8;
+
+    /**
+     * Hide utility class constructor.
+     */
+    private IntegerScanner() {
+    }
+
+    /**
+     * Scan a signed integer.
+     *
+     * @param text    Text to scan.
+     * @param min     Smallest allowed value.
+     * @param max     Largest allowed value.
+     * @param convert Converts the scanned value to the result.
+     * @param <R>     Result type.
+     * @return Converted value, or {@code null} if the text isn't a valid integer in range.
+     */
+    /* default */ static <R> R scanSigned(
+        @NonNull final CharSequence text,
+        final long min,
+        final long max,
+        @NonNull final LongFunction<R> convert
+    ) {
+        return scan(text, false, min, max, convert, LongFunction::apply);
+    }
+
+    /**
+     * Scan an unsigned integer.
+     *
+     * @param text    Text to scan.
+     * @param max     Largest allowed value, compared as unsigned. {@code -1} allows any 64-bit value.
+     * @param convert Converts the scanned value to the result.
+     * @param <R>     Result type.
+     * @return Converted value, or {@code null} if the text isn't a valid integer in range.
+     */
+    /* default */ static <R> R scanUnsigned(
+        @NonNull final CharSequence text,
+        final long max,
+        @NonNull final LongFunction<R> convert
+    ) {
+        return scan(text, true, 0, max, convert, LongFunction::apply);
+    }
+
+    /**
+     * Scan an integer straight into a sink, without allocating.
+     *
+     * @param text       Text to scan.
+     * @param isUnsigned Is the value unsigned?
+     * @param min        Smallest allowed value. Ignored if unsigned.
+     * @param max        Largest allowed value.
+     * @param sink       Receives the value with {@link PrimitiveSink#setInt(int)} or
+     *                   {@link PrimitiveSink#setLong(long)} if the text is valid. Not called otherwise.
+     * @param isInt      Pass the value to {@link PrimitiveSink#setInt(int)}?
+     * @return {@code true} if the text was a valid integer in range, otherwise {@code false}.
+     */
+    /* default */ static boolean scanInto(
+        @NonNull final CharSequence text,
+        final boolean isUnsigned,
+        final long min,
+        final long max,
+        @NonNull final PrimitiveSink sink,
+        final boolean isInt
+    ) {
+        return scan(text, isUnsigned, min, max, sink, isInt ? IntegerScanner::setInt : IntegerScanner::setLong) != null;
+    }
+
+    /* **************************************** Private utility methods ***************************************** */
+
+    /**
+     * Scan an integer.
+     *
+     * @param text       Text to scan.
+     * @param isUnsigned Is the value unsigned?
+     * @param min        Smallest allowed value. Ignored if unsigned.
+     * @param max        Largest allowed value.
+     * @param target     Passed to {@code receiver} with the value.
+     * @param receiver   Receives the value if the text is valid. Must not return {@code null}.
+     * @param <T>        Target type.
+     * @param <R>        Result type.
+     * @return Result of {@code receiver}, or {@code null} if the text isn't a valid integer in range.
+     */
+    private static <T, R> R scan(
+        @NonNull final CharSequence text,
+        final boolean isUnsigned,
+        final long min,
+        final long max,
+        @NonNull final T target,
+        @NonNull final Receiver<T, R> receiver
+    ) {
+        final int end = text.length();
+        int i = 0;
+        boolean isNegative = false;
+
+        if (i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+            isNegative = text.charAt(i) == '-';
+            ++i;
+        }
+
+        if (isNegative && isUnsigned) {
+            return null;
+        }
+
+        final int radix = radix(text, i);
+
+        if (radix != DECIMAL) {
+            i += 2;
+        }
+
+        // Magnitude limit as an unsigned value. Negating MIN_VALUE gives 2^63 as an unsigned long.
+        final long limit = isNegative ? -min : max;
+        final long quotient = Long.divideUnsigned(limit, radix);
+        final long remainder = Long.remainderUnsigned(limit, radix);
+        long magnitude = 0;
+        boolean isDigitExpected = true;
+
+        for (; i < end; ++i) {
+            final char c = text.charAt(i);
+
+            if (c == SEPARATOR && !isDigitExpected) {
+                isDigitExpected = true;
+                continue;
+            }
+
+            final int digit = Character.digit(c, radix);
+
+            if (digit < 0) {
+                return null;
+            }
+
+            final int compare = Long.compareUnsigned(magnitude, quotient);
+
+            if (compare > 0 || compare == 0 && digit > remainder) {
+                return null;
+            }
+
+            magnitude = magnitude * radix + digit;
+            isDigitExpected = false;
+        }
+
+        if (isDigitExpected) {
+            // Empty, a sign or prefix without digits, or a trailing separator
+            return null;
+        }
+
+        return receiver.receive(target, isNegative ? -magnitude : magnitude);
+    }
+
+    /**
+     * Get the radix of the digits starting at an index.
+     *
+     * @param text  Text to check.
+     * @param start Index after the sign.
+     * @return Radix given by a prefix, or {@link #DECIMAL} if there isn't one.
+     */
+    private static int radix(@NonNull final CharSequence text, final int start) {
+        if (start + 2 > text.length() || text.charAt(start) != '0') {
+            return DECIMAL;
+        }
+
+        return switch (text.charAt(start + 1)) {
+            case 'b', 'B' -> BINARY;
+            case 'o', 'O' -> OCTAL;
+            case 'x', 'X' -> HEXADECIMAL;
+            default -> DECIMAL;
+        };
+    }
+
+    /**
+     * Pass a scanned value to a sink as an int.
+     *
+     * @param sink  Sink to receive the value.
+     * @param value Scanned value.
+     * @return {@link Boolean#TRUE}.
+     */
+    private static Boolean setInt(@NonNull final PrimitiveSink sink, final long value) {
+        sink.setInt((int) value);
+
+        return Boolean.TRUE;
+    }
+
+    /**
+     * Pass a scanned value to a sink as a long.
+     *
+     * @param sink  Sink to receive the value.
+     * @param value Scanned value.
+     * @return {@link Boolean#TRUE}.
+     */
+    private static Boolean setLong(@NonNull final PrimitiveSink sink, final long value) {
+        sink.setLong(value);
+
+        return Boolean.TRUE;
+    }
+
+    /**
+     * Receives a valid scanned value. Taking the target as a parameter lets method references be used without
+     * capturing it, so scanning doesn't allocate.
+     *
+     * @param <T> Target type.
+     * @param <R> Result type.
+     */
+    @FunctionalInterface
+    private interface Receiver<T, R> {
+        /**
+         * Receive a scanned value.
+         *
+         * @param target Target passed to the scan.
+         * @param value  Scanned value.
+         * @return Non-null result.
+         */
+        R receive(T target, long value);
+    }
+}
@@ -1,28 +1,69 @@
 package tech.ixirsii.parse.parser;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import tech.ixirsii.parse.command.ArgumentValueCount;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 /**
  * List parser.
  *
+ * <p>
+ * Splits one value on a delimiter, such as {@code a,b,"c,d"}, and passes each element to the element parser as a
+ * view of the value, without splitting it into strings first. See {@link ElementCursor} for how elements are quoted
+ * and trimmed. Use {@link IntArrayParser}, {@link LongArrayParser} or {@link DoubleArrayParser} for large lists of
+ * numbers, which aren't boxed.
+ *
  * @author Ryan Porterfield
  * @param <T> Type of list.
  * @since 1.0.0
  */
-@RequiredArgsConstructor
 @Slf4j
 public final class ListParser<T> implements Parser<List<T>> {
+    /**
+     * Default element delimiter.
+     */
+    public static final char DEFAULT_DELIMITER = ',';
+
+    /**
+     * Element delimiter.
+     */
+    private final char delimiter;
+    /**
+     * Stop at the first invalid element?
+     */
+    private final boolean isFailFast;
     /**
      * Individual parser.
      */
     private final Parser<T> parser;
 
+    /**
+     * Constructor for a comma separated list which stops at the first invalid element.
+     *
+     * @param parser Individual parser.
+     */
+    public ListParser(@NonNull final Parser<T> parser) {
+        this(parser, DEFAULT_DELIMITER, true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param parser     Individual parser.
+     * @param delimiter  Element delimiter.
+     * @param isFailFast Stop at the first invalid element? Otherwise every element is parsed and the error describes
+     *                   all invalid elements.
+     */
+    public ListParser(@NonNull final Parser<T> parser, final char delimiter, final boolean isFailFast) {
+        this.delimiter = delimiter;
+        this.isFailFast = isFailFast;
+        this.parser = parser;
+    }
+
     @NonNull
     @Override
     public ArgumentValueCount getValueCount() {
@@ -31,8 +72,37 @@ public final class ListParser<T> implements Parser<List<T>> {
 
     @Override
     public @NonNull ParseResult<List<T>> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<List<T>> parse(@NonNull final CharSequence value) {
         log.trace("Parsing {} as list", value);
 
-        return new ParseResult<>(Collections.emptyList(), true, "");
+        final ElementCursor elements = new ElementCursor(value, delimiter);
+        final List<T> list = new ArrayList<>(elements.count());
+        List<ParseError> errors = null;
+
+        while (elements.next()) {
+            final ParseResult<T> result = parser.parse(elements.slice());
+
+            if (result.isSuccess()) {
+                list.add(result.value());
+            } else if (isFailFast) {
+                return ParseResult.failure(result.error());
+            } else {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+
+                errors.add(result.error());
+            }
+        }
+
+        if (errors == null) {
+            return ParseResult.success(Collections.unmodifiableList(list));
+        } else {
+            return ParseResult.failure(ElementCursor.invalid(errors));
+        }
     }
 }
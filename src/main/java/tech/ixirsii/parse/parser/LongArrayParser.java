@@ -0,0 +1,75 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import tech.ixirsii.parse.command.ArgumentValueCount;
+
+/**
+ * {@link Parser} for delimited lists of longs, such as {@code 1,2,3}, into a {@code long[]}.
+ *
+ * <p>
+ * Elements are split as by {@link ListParser} but are parsed straight into an array which is sized by counting the
+ * elements first, so no element is boxed or copied into a string.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+@Slf4j
+public final class LongArrayParser implements Parser<long[]> {
+    /**
+     * Element delimiter.
+     */
+    private final char delimiter;
+    /**
+     * Stop at the first invalid element?
+     */
+    private final boolean isFailFast;
+    /**
+     * Element parser.
+     */
+    private final LongValueParser parser;
+
+    /**
+     * Constructor for a comma separated list which stops at the first invalid element.
+     */
+    public LongArrayParser() {
+        // Parser constants may not be initialized yet when this is one of them
+        this(new LongParser(false), ListParser.DEFAULT_DELIMITER, true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param parser     Element parser.
+     * @param delimiter  Element delimiter.
+     * @param isFailFast Stop at the first invalid element? Otherwise every element is parsed and the error describes
+     *                   all invalid elements.
+     */
+    public LongArrayParser(@NonNull final LongValueParser parser, final char delimiter, final boolean isFailFast) {
+        this.delimiter = delimiter;
+        this.isFailFast = isFailFast;
+        this.parser = parser;
+    }
+
+    @NonNull
+    @Override
+    public ArgumentValueCount getValueCount() {
+        return ArgumentValueCount.ONE;
+    }
+
+    @Override
+    public @NonNull ParseResult<long[]> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<long[]> parse(@NonNull final CharSequence value) {
+        log.trace("Parsing {} as long array", value);
+
+        final ElementCursor elements = new ElementCursor(value, delimiter);
+        final long[] values = new long[elements.count()];
+        final ParseError error = elements.parseInto(parser, ElementSink.of(values), isFailFast);
+
+        return error == null ? ParseResult.success(values) : ParseResult.failure(error);
+    }
+}
@@ -7,15 +7,27 @@ import tech.ixirsii.parse.command.ArgumentValueCount;
 /**
  * {@link Parser} for long values.
  *
+ * <p>
+ * Accepts {@code 0x}, {@code 0o} and {@code 0b} prefixes and {@code _} digit separators. Invalid input is reported
+ * through the result without throwing an exception.
+ *
  * @author Ryan Porterfield
  * @since 1.0.0
  */
 @Slf4j
-public final class LongParser implements Parser<Long> {
+public final class LongParser implements LongValueParser {
+    /**
+     * Parse unsigned values? Unsigned values are stored as the bit pattern of the same width.
+     */
+    private final boolean isUnsigned;
+
     /**
      * Hide constructor.
+     *
+     * @param isUnsigned Parse unsigned values?
      */
-    /* default */ LongParser() {
+    /* default */ LongParser(final boolean isUnsigned) {
+        this.isUnsigned = isUnsigned;
     }
 
     @NonNull
@@ -26,12 +38,54 @@ public final class LongParser implements Parser<Long> {
 
     @Override
     public @NonNull ParseResult<Long> parse(@NonNull final String value) {
+        return parse((CharSequence) value);
+    }
+
+    @Override
+    public @NonNull ParseResult<Long> parse(@NonNull final CharSequence value) {
         log.trace("Parsing {} as long", value);
 
-        try {
-            return new ParseResult<>(Long.parseLong(value), true, "");
-        } catch (final NumberFormatException e) {
-            return new ParseResult<>(null, false, "Long required but got " + value);
+        final Long parsed = scan(value);
+
+        if (parsed != null) {
+            return ParseResult.success(parsed);
+        } else {
+            return ParseResult.failure(error(value));
+        }
+    }
+
+    @Override
+    public void parseLong(@NonNull final CharSequence value, @NonNull final PrimitiveSink sink) {
+        final boolean isValid = isUnsigned
+            ? IntegerScanner.scanInto(value, true, 0, -1L, sink, false)
+            : IntegerScanner.scanInto(value, false, Long.MIN_VALUE, Long.MAX_VALUE, sink, false);
+
+        if (!isValid) {
+            sink.fail(error(value));
+        }
+    }
+
+    /**
+     * Create the error for a value which isn't a long.
+     *
+     * @param value Invalid value.
+     * @return Parse error.
+     */
+    private ParseError error(@NonNull final CharSequence value) {
+        return ParseError.malformed(value, isUnsigned ? "Unsigned long" : "Long");
+    }
+
+    /**
+     * Scan a value.
+     *
+     * @param value Value to scan.
+     * @return Scanned value, or {@code null} if it isn't valid.
+     */
+    private Long scan(@NonNull final CharSequence value) {
+        if (isUnsigned) {
+            return IntegerScanner.scanUnsigned(value, -1L, Long::valueOf);
+        } else {
+            return IntegerScanner.scanSigned(value, Long.MIN_VALUE, Long.MAX_VALUE, Long::valueOf);
         }
     }
 }
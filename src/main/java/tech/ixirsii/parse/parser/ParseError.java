@@ -0,0 +1,114 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+
+/**
+ * Structured description of why a value couldn't be parsed.
+ *
+ * <p>
+ * Creating an error only captures references, so rejecting malformed input is cheap. The message text is formatted
+ * each time {@link #message()} is called, which is usually only when an error is shown to a user.
+ *
+ * @author Ryan Porterfield
+ * @param code     Kind of error.
+ * @param input    Text which was being parsed, or the argument name for {@link Code#MISSING_VALUE}.
+ * @param start    Start of the offending range of {@code input} (inclusive).
+ * @param end      End of the offending range of {@code input} (exclusive).
+ * @param expected Name of the expected type, such as {@code "Integer"}, or the message for {@link Code#CUSTOM}.
+ * @param hint     Text appended to the message, or empty string.
+ * @since 1.0.0
+ */
+public record ParseError(
+        @NonNull Code code,
+        @NonNull CharSequence input,
+        int start,
+        int end,
+        @NonNull String expected,
+        @NonNull String hint) {
+    /**
+     * Create an error with a preformatted message.
+     *
+     * @param message Error message.
+     * @return New error.
+     */
+    public static ParseError custom(@NonNull final String message) {
+        return new ParseError(Code.CUSTOM, "", 0, 0, message, "");
+    }
+
+    /**
+     * Create an error for a value which isn't of the expected type.
+     *
+     * @param input    Invalid value.
+     * @param expected Name of the expected type.
+     * @return New error.
+     */
+    public static ParseError malformed(@NonNull final CharSequence input, @NonNull final String expected) {
+        return malformed(input, expected, "");
+    }
+
+    /**
+     * Create an error for a value which isn't of the expected type, with extra guidance.
+     *
+     * @param input    Invalid value.
+     * @param expected Name of the expected type.
+     * @param hint     Text appended to the message.
+     * @return New error.
+     */
+    public static ParseError malformed(
+        @NonNull final CharSequence input,
+        @NonNull final String expected,
+        @NonNull final String hint
+    ) {
+        return new ParseError(Code.MALFORMED, input, 0, input.length(), expected, hint);
+    }
+
+    /**
+     * Create an error for an option which was passed without its required value.
+     *
+     * @param name Option name as passed.
+     * @return New error.
+     */
+    public static ParseError missingValue(@NonNull final CharSequence name) {
+        return new ParseError(Code.MISSING_VALUE, name, 0, name.length(), "Value", "");
+    }
+
+    /**
+     * Get the offending text.
+     *
+     * @return Offending range of the input.
+     */
+    public @NonNull CharSequence offending() {
+        return input.subSequence(start, end);
+    }
+
+    /**
+     * Format the error message.
+     *
+     * @return Error message.
+     */
+    public @NonNull String message() {
+        return switch (code) {
+            case CUSTOM -> expected;
+            case MALFORMED -> expected + " required but got " + offending() + hint;
+            case MISSING_VALUE -> expected + " required for " + offending() + " but none was given" + hint;
+        };
+    }
+
+    /**
+     * Kind of parse error.
+     */
+    public enum Code {
+        /**
+         * Error with a preformatted message.
+         */
+        CUSTOM,
+        /**
+         * Value isn't of the expected type.
+         */
+        MALFORMED,
+        /**
+         * Option was passed without its required value.
+         */
+        MISSING_VALUE,
+    }
+}
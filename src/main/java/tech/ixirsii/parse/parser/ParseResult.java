@@ -5,12 +5,84 @@ import lombok.NonNull;
 /**
  * Result of parsing an argument.
  *
+ * <p>
+ * Outcomes which don't depend on the input, such as a boolean, share cached instances. A failure keeps a structured
+ * {@link ParseError} and only formats its message when {@link #errorMessage()} is called.
+ *
  * @author Ryan Porterfield
  * @param value Parsed value (if successful) otherwise {@code null}.
- * @param isSuccess Was parsing successful?
- * @param errorMessage Error message if parsing was not successful, otherwise empty string.
+ * @param error Reason parsing failed, or {@code null} if parsing was successful.
  * @param <T> Type of parsed value.
  * @since 1.0.0
  */
-public record ParseResult<T>(T value, boolean isSuccess, @NonNull String errorMessage) {
+public record ParseResult<T>(T value, ParseError error) {
+    /**
+     * Shared result for {@code false}.
+     */
+    private static final ParseResult<Boolean> FALSE = new ParseResult<>(false, null);
+    /**
+     * Shared result for {@code true}.
+     */
+    private static final ParseResult<Boolean> TRUE = new ParseResult<>(true, null);
+
+    /**
+     * Constructor for a result with a preformatted error message.
+     *
+     * @param value        Parsed value (if successful) otherwise {@code null}.
+     * @param isSuccess    Was parsing successful?
+     * @param errorMessage Error message if parsing was not successful, otherwise empty string.
+     */
+    public ParseResult(final T value, final boolean isSuccess, @NonNull final String errorMessage) {
+        this(value, isSuccess ? null : ParseError.custom(errorMessage));
+    }
+
+    /**
+     * Get the shared result for a boolean.
+     *
+     * @param value Parsed value.
+     * @return Shared successful result.
+     */
+    public static ParseResult<Boolean> of(final boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Create a failed result.
+     *
+     * @param error Reason parsing failed.
+     * @param <T>   Type of parsed value.
+     * @return New failed result.
+     */
+    public static <T> ParseResult<T> failure(@NonNull final ParseError error) {
+        return new ParseResult<>(null, error);
+    }
+
+    /**
+     * Create a successful result.
+     *
+     * @param value Parsed value.
+     * @param <T>   Type of parsed value.
+     * @return New successful result.
+     */
+    public static <T> ParseResult<T> success(final T value) {
+        return new ParseResult<>(value, null);
+    }
+
+    /**
+     * Format the error message.
+     *
+     * @return Error message if parsing was not successful, otherwise empty string.
+     */
+    public @NonNull String errorMessage() {
+        return error == null ? "" : error.message();
+    }
+
+    /**
+     * Check if parsing was successful.
+     *
+     * @return {@code true} if parsing was successful, otherwise {@code false}.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
 }
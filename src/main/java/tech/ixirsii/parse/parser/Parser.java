@@ -18,11 +18,15 @@ public interface Parser<T> {
     /**
      * Byte parser.
      */
-    ByteParser BYTE_PARSER = new ByteParser();
+    ByteParser BYTE_PARSER = new ByteParser(false);
     /**
      * Char parser.
      */
     CharParser CHAR_PARSER = new CharParser();
+    /**
+     * Comma separated double array parser.
+     */
+    DoubleArrayParser DOUBLE_ARRAY_PARSER = new DoubleArrayParser();
     /**
      * Double parser.
      */
@@ -31,22 +35,59 @@ public interface Parser<T> {
      * Float parser.
      */
     FloatParser FLOAT_PARSER = new FloatParser();
+    /**
+     * Comma separated integer array parser.
+     */
+    IntArrayParser INT_ARRAY_PARSER = new IntArrayParser();
     /**
      * Integer parser.
      */
-    IntParser INT_PARSER = new IntParser();
+    IntParser INT_PARSER = new IntParser(false);
+    /**
+     * Comma separated long array parser.
+     */
+    LongArrayParser LONG_ARRAY_PARSER = new LongArrayParser();
     /**
      * Long parser.
      */
-    LongParser LONG_PARSER = new LongParser();
+    LongParser LONG_PARSER = new LongParser(false);
     /**
      * Short parser.
      */
-    ShortParser SHORT_PARSER = new ShortParser();
+    ShortParser SHORT_PARSER = new ShortParser(false);
     /**
      * String parser.
      */
     StringParser STRING_PARSER = new StringParser();
+    /**
+     * Unsigned byte parser. Values are stored as their bit pattern.
+     */
+    ByteParser UNSIGNED_BYTE_PARSER = new ByteParser(true);
+    /**
+     * Unsigned integer parser. Values are stored as their bit pattern.
+     */
+    IntParser UNSIGNED_INT_PARSER = new IntParser(true);
+    /**
+     * Unsigned long parser. Values are stored as their bit pattern.
+     */
+    LongParser UNSIGNED_LONG_PARSER = new LongParser(true);
+    /**
+     * Unsigned short parser. Values are stored as their bit pattern.
+     */
+    ShortParser UNSIGNED_SHORT_PARSER = new ShortParser(true);
+
+    /**
+     * Check if a value can be parsed, such as to decide whether an optional value was passed to an option.
+     *
+     * <p>
+     * Parsers which can check a value without building a {@link ParseResult} should override this.
+     *
+     * @param value Argument value.
+     * @return {@code true} if the value parses successfully, otherwise {@code false}.
+     */
+    default boolean accepts(@NonNull final CharSequence value) {
+        return parse(value).isSuccess();
+    }
 
     /**
      * How many values does this parser accept?
@@ -64,4 +105,19 @@ public interface Parser<T> {
      */
     @NonNull
     ParseResult<T> parse(@NonNull String value);
+
+    /**
+     * Parse a slice of input.
+     *
+     * <p>
+     * Command input is passed to parsers as views of the original text. Parsers which can read the characters
+     * directly should override this to avoid copying the value into a {@link String}.
+     *
+     * @param value Argument value.
+     * @return Parsed value.
+     */
+    @NonNull
+    default ParseResult<T> parse(@NonNull final CharSequence value) {
+        return parse(value.toString());
+    }
 }
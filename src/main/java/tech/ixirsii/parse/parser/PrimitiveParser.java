@@ -0,0 +1,28 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+
+/**
+ * {@link Parser} which can deliver its value as a primitive instead of a boxed {@link ParseResult}.
+ *
+ * <p>
+ * Implement one of the specialized interfaces, such as {@link IntValueParser}, rather than this one.
+ *
+ * @author Ryan Porterfield
+ * @param <T> Boxed parser return type.
+ * @since 1.0.0
+ */
+public sealed interface PrimitiveParser<T> extends Parser<T>
+        permits BooleanValueParser, DoubleValueParser, IntValueParser, LongValueParser {
+    /**
+     * Parse input into a sink.
+     *
+     * <p>
+     * Implementations shouldn't allocate or log when the value is valid, so that a reused sink can be refilled
+     * without creating garbage.
+     *
+     * @param value Argument value.
+     * @param sink  Receiver for the parsed value or error.
+     */
+    void parseInto(@NonNull CharSequence value, @NonNull PrimitiveSink sink);
+}
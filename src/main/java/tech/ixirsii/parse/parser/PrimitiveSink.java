@@ -0,0 +1,50 @@
+package tech.ixirsii.parse.parser;
+
+import lombok.NonNull;
+
+/**
+ * Receiver for the result of a primitive-specialized parser.
+ *
+ * <p>
+ * A parser calls exactly one method of the sink for each value it parses, so that a parsed value can be stored in a
+ * primitive slot without being boxed.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+public interface PrimitiveSink {
+    /**
+     * Report that the value couldn't be parsed.
+     *
+     * @param error Reason parsing failed.
+     */
+    void fail(@NonNull ParseError error);
+
+    /**
+     * Receive a parsed boolean.
+     *
+     * @param value Parsed value.
+     */
+    void setBoolean(boolean value);
+
+    /**
+     * Receive a parsed double.
+     *
+     * @param value Parsed value.
+     */
+    void setDouble(double value);
+
+    /**
+     * Receive a parsed integer.
+     *
+     * @param value Parsed value.
+     */
+    void setInt(int value);
+
+    /**
+     * Receive a parsed long.
+     *
+     * @param value Parsed value.
+     */
+    void setLong(long value);
+}
@@ -28,6 +28,6 @@ public final class StringParser implements Parser<String> {
     public @NonNull ParseResult<String> parse(@NonNull final String value) {
         log.trace("Parsing {} as string", value);
 
-        return new ParseResult<>(value, true, "");
+        return ParseResult.success(value);
     }
 }
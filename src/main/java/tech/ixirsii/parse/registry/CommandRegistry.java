@@ -0,0 +1,190 @@
+package tech.ixirsii.parse.registry;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import tech.ixirsii.parse.command.Command;
+import tech.ixirsii.parse.command.CommandResult;
+import tech.ixirsii.parse.internal.NameTrie;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable index of {@link Command}s by name and alias.
+ *
+ * <p>
+ * Names are stored in a character trie, so finding the command for a line of input costs
+ * {@code O(name length)} regardless of how many commands are registered. Registries are safe to share between
+ * threads.
+ *
+ * @author Ryan Porterfield
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CommandRegistry {
+    /**
+     * Commands indexed by name index in {@link #names}.
+     */
+    private final Command[] commands;
+    /**
+     * Command names and aliases.
+     */
+    private final NameTrie names;
+
+    /**
+     * Constructor.
+     *
+     * @param names    Command names and aliases.
+     * @param commands Command for each name.
+     */
+    private CommandRegistry(@NonNull final List<String> names, @NonNull final List<Command> commands) {
+        this.commands = commands.toArray(new Command[0]);
+        this.names = new NameTrie(names);
+    }
+
+    /**
+     * Create a new registry builder.
+     *
+     * @return New builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Find the command named by the first word of a line of input.
+     *
+     * @param line Input line, such as {@code "status -v"}.
+     * @return Command if one is registered with the name, otherwise empty.
+     */
+    public Optional<Command> find(@NonNull final CharSequence line) {
+        final int start = nameStart(line);
+        final int index = names.find(line, start, nameEnd(line, start));
+
+        return index < 0 ? Optional.empty() : Optional.of(commands[index]);
+    }
+
+    /**
+     * Parse a line of input with the command named by its first word.
+     *
+     * @param line Input line, such as {@code "status -v"}.
+     * @return Command result if a command is registered with the name, otherwise empty.
+     */
+    public Optional<CommandResult> parse(@NonNull final CharSequence line) {
+        final int start = nameStart(line);
+        final int end = nameEnd(line, start);
+        final int index = names.find(line, start, end);
+
+        if (index < 0) {
+            log.debug("No command registered for {}", line);
+            return Optional.empty();
+        }
+
+        final Command command = commands[index];
+
+        log.trace("Dispatching {} to {}", line, command.getName());
+
+        return Optional.of(command.parse(CharBuffer.wrap(line, end, line.length())));
+    }
+
+    /**
+     * Find the index of the first character of the command name.
+     *
+     * @param line Input line.
+     * @return Index of the first non-whitespace character.
+     */
+    private static int nameStart(@NonNull final CharSequence line) {
+        int start = 0;
+
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+            ++start;
+        }
+
+        return start;
+    }
+
+    /**
+     * Find the index after the last character of the command name.
+     *
+     * @param line  Input line.
+     * @param start Index of the first character of the command name.
+     * @return Index of the first whitespace character after the name.
+     */
+    private static int nameEnd(@NonNull final CharSequence line, final int start) {
+        int end = start;
+
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+            ++end;
+        }
+
+        return end;
+    }
+
+    /**
+     * {@link CommandRegistry} builder.
+     *
+     * @author Ryan Porterfield
+     * @since 1.0.0
+     */
+    public static final class Builder {
+        /**
+         * Command for each name.
+         */
+        private final List<Command> commands = new ArrayList<>();
+        /**
+         * Command names and aliases.
+         */
+        private final List<String> names = new ArrayList<>();
+
+        /**
+         * Hide constructor.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Register a command under its name and any aliases.
+         *
+         * @param command Command to register.
+         * @param aliases Additional names for the command.
+         * @return This builder.
+         * @throws IllegalArgumentException if a name or alias is empty or contains whitespace.
+         */
+        public Builder register(@NonNull final Command command, @NonNull final String... aliases) {
+            add(command.getName(), command);
+
+            for (final String alias : aliases) {
+                add(alias, command);
+            }
+
+            return this;
+        }
+
+        /**
+         * Build the registry.
+         *
+         * @return New registry.
+         * @throws IllegalArgumentException if a name or alias is registered more than once.
+         */
+        public CommandRegistry build() {
+            return new CommandRegistry(names, commands);
+        }
+
+        /**
+         * Add a name for a command.
+         *
+         * @param name    Command name or alias.
+         * @param command Command.
+         */
+        private void add(@NonNull final String name, @NonNull final Command command) {
+            if (name.isEmpty() || nameEnd(name, 0) != name.length()) {
+                throw new IllegalArgumentException("Invalid command name \"" + name + "\"");
+            }
+
+            names.add(name);
+            commands.add(command);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Command lookup and dispatch.
+ */
+package tech.ixirsii.parse.registry;
@@ -0,0 +1,275 @@
+package tech.ixirsii.parse;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+import tech.ixirsii.parse.command.ArgumentKey;
+import tech.ixirsii.parse.command.Command;
+import tech.ixirsii.parse.command.CommandResult;
+import tech.ixirsii.parse.command.OptionalArgument;
+import tech.ixirsii.parse.command.PositionalArgument;
+import tech.ixirsii.parse.event.LazyValues;
+import tech.ixirsii.parse.parser.ParseResult;
+import tech.ixirsii.parse.parser.Parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * Throughput benchmarks.
+ *
+ * Excluded from `gradle test`. Run with `gradle benchmark`, which prints the best time of each measured round. Each
+ * benchmark checks that the compared implementations agree, but never fails on timing, so the numbers are only
+ * meaningful when compared on the same machine.
+ */
+@Tag("benchmark")
+class ArgParse4JBenchmark {
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static volatile Object blackhole;
+
+    private final Command command;
+
+    ArgParse4JBenchmark() {
+        command = new Command(
+                "copy",
+                "Copy a file",
+                "copy [--count N] [--ratio R] SOURCE TARGET",
+                List.of(
+                        new OptionalArgument<>("count", 'n', "Number of copies", Parser.INT_PARSER),
+                        new OptionalArgument<>("ratio", 'r', "Compression ratio", Parser.DOUBLE_PARSER)),
+                List.of(
+                        new PositionalArgument<>("source", "Source file", Parser.STRING_PARSER),
+                        new PositionalArgument<>("target", "Target file", Parser.STRING_PARSER)));
+    }
+
+    @Test
+    void parseAll_vs_sequentialParse() {
+        // Given
+        final List<List<String>> batch = new ArrayList<>();
+
+        for (int i = 0; i < 100_000; ++i) {
+            batch.add(List.of("--count", Integer.toString(i), "--ratio", "0.5", "source" + i, "target" + i));
+        }
+
+        // When
+        final long parallel = time(() -> command.parseAll(batch));
+        final long sequential = time(() -> batch.stream().map(command::parse).toList());
+
+        // Then
+        report("parseAll", parallel, batch.size());
+        report("sequential parse", sequential, batch.size());
+        assertEquals(
+                batch.stream().map(command::parse).map(ArgParse4JBenchmark::count).toList(),
+                command.parseAll(batch).stream().map(ArgParse4JBenchmark::count).toList(),
+                "Parallel results should equal sequential results");
+    }
+
+    @Test
+    void doubleParser_vs_parseDouble() {
+        // Given
+        final List<String> shortValues = new ArrayList<>();
+        final List<String> longValues = new ArrayList<>();
+        final List<String> invalidValues = new ArrayList<>();
+
+        for (int i = 0; i < 100_000; ++i) {
+            shortValues.add(i % 2 == 0 ? i % 1000 + "." + i % 100 : i % 50 + "e" + (i % 20 - 10));
+            longValues.add(Double.toString(i / 7.0));
+            invalidValues.add(i % 2 == 0 ? "1.5x" + i : "ratio" + i);
+        }
+
+        // When
+        final long shortScanned = time(() -> sumScanned(shortValues));
+        final long shortParsed = time(() -> sumParsed(shortValues));
+        final long longScanned = time(() -> sumScanned(longValues));
+        final long longParsed = time(() -> sumParsed(longValues));
+        final long invalidScanned = time(() -> sumScanned(invalidValues));
+        final long invalidParsed = time(() -> sumParsed(invalidValues));
+
+        // Then
+        report("DOUBLE_PARSER short", shortScanned, shortValues.size());
+        report("parseDouble short", shortParsed, shortValues.size());
+        report("DOUBLE_PARSER long", longScanned, longValues.size());
+        report("parseDouble long", longParsed, longValues.size());
+        report("DOUBLE_PARSER invalid", invalidScanned, invalidValues.size());
+        report("parseDouble invalid", invalidParsed, invalidValues.size());
+        assertEquals(sumParsed(shortValues), sumScanned(shortValues), "Scanned values should equal parsed values");
+        assertEquals(sumParsed(longValues), sumScanned(longValues), "Scanned values should equal parsed values");
+    }
+
+    // Mapped files can't always be deleted while mapped, so the file is deleted on exit instead of after the benchmark
+    @Test
+    void mappedArgumentFile_vs_readAll(@TempDir(cleanup = CleanupMode.NEVER) final Path directory) throws IOException {
+        // Given
+        final PositionalArgument<LazyValues<String>> files = PositionalArgument.varargs("files", "Files",
+                Parser.STRING_PARSER);
+        final Command plain = new Command("copy", "Copy files", "copy <files...>", List.of(), List.of(files));
+        final Command mapped = plain.withArgumentFiles();
+        final ArgumentKey<LazyValues<String>> key = plain.key(files);
+        final Path file = directory.resolve("args.txt");
+        final StringBuilder tokens = new StringBuilder();
+
+        for (int i = 0; i < 1_000_000; ++i) {
+            tokens.append("file").append(i).append(i % 16 == 15 ? '\n' : ' ');
+        }
+
+        Files.writeString(file, tokens);
+        directory.toFile().deleteOnExit();
+        file.toFile().deleteOnExit();
+
+        final List<String> reference = List.of("@" + file);
+
+        // When
+        final long mappedTime = time(() -> length(mapped.parse(reference).event().get(key)));
+        final long readAllTime = time(() -> length(plain.parse(readAll(file)).event().get(key)));
+        final long mappedBytes = allocated(() -> mapped.parse(reference));
+        final long readAllBytes = allocated(() -> plain.parse(readAll(file)));
+
+        // Then
+        report("mapped @file", mappedTime, 1_000_000);
+        report("read-all @file", readAllTime, 1_000_000);
+        System.out.printf("%-24s %10d bytes allocated to parse%n", "mapped @file", mappedBytes);
+        System.out.printf("%-24s %10d bytes allocated to parse%n", "read-all @file", readAllBytes);
+        assertEquals(length(plain.parse(readAll(file)).event().get(key)),
+                length(mapped.parse(reference).event().get(key)),
+                "Mapped values should equal read values");
+    }
+
+    /**
+     * Measure the memory a benchmark round allocates on the current thread.
+     *
+     * @param round Benchmark round. The result is published so it can't be optimized away.
+     * @return Bytes allocated.
+     */
+    private static long allocated(final Supplier<?> round) {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long before = threads.getCurrentThreadAllocatedBytes();
+
+        blackhole = round.get();
+
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Get the parsed count of a result.
+     *
+     * @param result Command result.
+     * @return Parsed count.
+     */
+    private static Integer count(final CommandResult result) {
+        return result.event().get("count", Integer.class);
+    }
+
+    /**
+     * Get the total length of some values, which reads each of them.
+     *
+     * @param values Values to read.
+     * @return Total length.
+     */
+    private static long length(final LazyValues<String> values) {
+        return values.stream().mapToLong(String::length).sum();
+    }
+
+    /**
+     * Read an argument file into a list of tokens, the way it would be expanded without mapping it.
+     *
+     * @param file Argument file.
+     * @return Tokens of the file.
+     */
+    private static List<String> readAll(final Path file) {
+        try {
+            return List.of(Files.readString(file).split("\\s+"));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Print the time per operation and throughput of a benchmark.
+     *
+     * @param name       Benchmark name.
+     * @param nanos      Best round time.
+     * @param operations Operations per round.
+     */
+    private static void report(final String name, final long nanos, final int operations) {
+        System.out.printf(
+                "%-24s %10.1f ns/op %12.0f ops/s (%d cores)%n",
+                name,
+                (double) nanos / operations,
+                operations * (double) TimeUnit.SECONDS.toNanos(1) / nanos,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Sum values with {@link Double#parseDouble(String)}, counting invalid values as 0.
+     *
+     * @param values Values to parse.
+     * @return Sum of the values.
+     */
+    private static double sumParsed(final List<String> values) {
+        double sum = 0;
+
+        for (final String value : values) {
+            try {
+                sum += Double.parseDouble(value);
+            } catch (final NumberFormatException e) {
+                sum += 0;
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Sum values with {@link Parser#DOUBLE_PARSER}, counting invalid values as 0.
+     *
+     * @param values Values to parse.
+     * @return Sum of the values.
+     */
+    private static double sumScanned(final List<String> values) {
+        double sum = 0;
+
+        for (final String value : values) {
+            final ParseResult<Double> result = Parser.DOUBLE_PARSER.parse(value);
+
+            sum += result.isSuccess() ? result.value() : 0;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Time a benchmark round after warming it up.
+     *
+     * @param round Benchmark round. The result is published so it can't be optimized away.
+     * @return Best round time in nanoseconds.
+     */
+    private static long time(final Supplier<?> round) {
+        for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+            blackhole = round.get();
+        }
+
+        long best = Long.MAX_VALUE;
+
+        for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+            final long start = System.nanoTime();
+
+            blackhole = round.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        return best;
+    }
+}
@@ -1,21 +1,59 @@
 package tech.ixirsii.parse;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import tech.ixirsii.parse.command.ArgumentKey;
+import tech.ixirsii.parse.command.ArgumentValueCount;
+import tech.ixirsii.parse.command.CacheStats;
 import tech.ixirsii.parse.command.Command;
 import tech.ixirsii.parse.command.CommandResult;
+import tech.ixirsii.parse.command.LineResult;
 import tech.ixirsii.parse.command.OptionalArgument;
+import tech.ixirsii.parse.command.ParseContext;
 import tech.ixirsii.parse.command.PositionalArgument;
+import tech.ixirsii.parse.event.LazyValues;
+import tech.ixirsii.parse.flow.CommandProcessor;
+import tech.ixirsii.parse.internal.ArgumentFileSource;
+import tech.ixirsii.parse.internal.ListTokenSource;
+import tech.ixirsii.parse.internal.MappedText;
+import tech.ixirsii.parse.internal.MappedTokenizer;
+import tech.ixirsii.parse.internal.TextSlice;
+import tech.ixirsii.parse.parser.BooleanParser;
+import tech.ixirsii.parse.parser.CachingParser;
+import tech.ixirsii.parse.parser.IntArrayParser;
 import tech.ixirsii.parse.parser.ListParser;
+import tech.ixirsii.parse.parser.ParseError;
+import tech.ixirsii.parse.parser.ParseResult;
 import tech.ixirsii.parse.parser.Parser;
+import tech.ixirsii.parse.registry.CommandRegistry;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /*
@@ -892,4 +930,1022 @@ class ArgParse4JTest {
         assertNull(actual.event().get("optionShort", Short.class), "optionShort should be null");
         assertNull(actual.event().get("optionString", String.class), "optionString should be null");
     }
+
+    @Test
+    void GIVEN_abbreviatedLongOption_WHEN_parse_THEN_returnsEvent() {
+        // Given
+        final List<String> arguments = List.of(
+                "--optionI",
+                "8",
+                "--optionSt=String",
+                "true",
+                "8",
+                "C",
+                "8.8",
+                "8.8",
+                "8",
+                "value1,value2",
+                "8",
+                "8",
+                "String");
+
+        // When
+        final CommandResult actual = command.parse(arguments);
+
+        // Then
+        assertEquals(8, actual.event().get("optionInt", Integer.class), "optionInt should equal expected");
+        assertEquals("String", actual.event().get("optionString", String.class), "optionString should equal expected");
+    }
+
+    @Test
+    void GIVEN_ambiguousLongOption_WHEN_parse_THEN_returnsFailedResult() {
+        // Given
+        final List<String> arguments = List.of(
+                "--optionB",
+                "true",
+                "8",
+                "C",
+                "8.8",
+                "8.8",
+                "8",
+                "value1,value2",
+                "8",
+                "8",
+                "String");
+
+        // When
+        final CommandResult actual = command.parse(arguments);
+
+        // Then
+        assertFalse(actual.isSuccess(), "Result should not be success");
+        assertTrue(actual.errorMessage().contains("--optionB"), "Error message should contain ambiguous option");
+    }
+
+    @Test
+    void GIVEN_duplicateShortOption_WHEN_constructor_THEN_throwsException() {
+        // Given
+        final List<OptionalArgument<?>> optionalArguments = List.of(
+                new OptionalArgument<>("first", 'x', "First option", Parser.BOOLEAN_PARSER),
+                new OptionalArgument<>("second", 'x', "Second option", Parser.BOOLEAN_PARSER));
+        final List<PositionalArgument<?>> positionalArguments = Collections.emptyList();
+
+        // When/Then
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new Command("duplicate", "Duplicate", "duplicate", optionalArguments, positionalArguments),
+                "Constructor should reject duplicate short options");
+    }
+
+    @Test
+    void GIVEN_registeredAlias_WHEN_registryParse_THEN_returnsEvent() {
+        // Given
+        final CommandRegistry registry = CommandRegistry.builder().register(command, "t").build();
+
+        // When
+        final Optional<CommandResult> actual = registry.parse("  t --optionInt 8 false 8 C 8.8 8.8 8 a,b 8 8 'a b'");
+
+        // Then
+        assertTrue(actual.isPresent(), "Result should be present");
+        assertEquals(8, actual.get().event().get("optionInt", Integer.class), "optionInt should equal expected");
+        assertFalse(actual.get().event().get("argumentBoolean", Boolean.class), "argumentBoolean should be false");
+        assertTrue(registry.find("test").isPresent(), "Command should be found by name");
+        assertTrue(registry.find("tes").isEmpty(), "Command should not be found by abbreviation");
+        assertTrue(registry.parse("unknown").isEmpty(), "Unknown command should be empty");
+    }
+
+    @Test
+    void GIVEN_line_WHEN_parse_THEN_returnsEvent() {
+        // Given
+        final String line = "  -b -i8 --optionString=\"a b\" false 8 C 8.8 8.8 8 a,b 8 8   'c \"d\" e' ";
+
+        // When
+        final CommandResult actual = command.parse(line);
+
+        // Then
+        assertTrue(actual.event().get("optionBoolean", Boolean.class), "optionBoolean should equal expected");
+        assertEquals(8, actual.event().get("optionInt", Integer.class), "optionInt should equal expected");
+        assertEquals("a b", actual.event().get("optionString", String.class), "optionString should equal expected");
+        assertFalse(actual.event().get("argumentBoolean", Boolean.class), "argumentBoolean should be false");
+        assertEquals(
+                "c \"d\" e",
+                actual.event().get("argumentString", String.class),
+                "argumentString should equal expected");
+    }
+
+    @Test
+    void GIVEN_clusteredValues_WHEN_parse_THEN_returnsEvent() {
+        // Given
+        final String line = "-bcx -S'a b' --optionChar=y false 8 C 8.8 8.8 8 a,b 8 8 \"c d\"";
+
+        // When
+        final CommandResult actual = command.parse(new StringBuilder(line));
+
+        // Then
+        assertTrue(actual.event().get("optionBoolean", Boolean.class), "optionBoolean should equal expected");
+        assertEquals('y', actual.event().get("optionChar", Character.class), "optionChar should equal expected");
+        assertEquals("a b", actual.event().get("optionString", String.class), "optionString should equal expected");
+        assertEquals('C', actual.event().get("argumentChar", Character.class), "argumentChar should equal expected");
+        assertEquals("c d", actual.event().get("argumentString", String.class), "argumentString should equal expected");
+    }
+
+    @Test
+    void GIVEN_batch_WHEN_parseAll_THEN_returnsResultsInOrder() {
+        // Given
+        final List<List<String>> batch = new ArrayList<>();
+
+        for (int i = 0; i < 1000; ++i) {
+            batch.add(List.of("-i", Integer.toString(i), "false", "8", "C", "8.8", "8.8", "8", "a", "8", "8", "s"));
+        }
+
+        // When
+        final List<CommandResult> actual;
+
+        try (ForkJoinPool pool = new ForkJoinPool(2)) {
+            actual = command.parseAll(batch, pool);
+        }
+
+        final List<CommandResult> streamed = command.parseStream(batch).toList();
+
+        // Then
+        assertEquals(batch.size(), actual.size(), "Result count should equal batch size");
+        assertEquals(batch.size(), streamed.size(), "Streamed result count should equal batch size");
+
+        for (int i = 0; i < batch.size(); ++i) {
+            assertEquals(i, actual.get(i).event().get("optionInt", Integer.class), "optionInt should equal index");
+            assertEquals(i, streamed.get(i).event().get("optionInt", Integer.class), "optionInt should equal index");
+        }
+    }
+
+    @Test
+    void GIVEN_lineStream_WHEN_process_THEN_publishesResultsInOrder() throws InterruptedException {
+        // Given
+        final CommandProcessor<CharSequence> processor = CommandProcessor.lines(command)
+                .maxInFlight(4)
+                .virtualThreads()
+                .build();
+        final List<Integer> actual = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch isComplete = new CountDownLatch(1);
+
+        processor.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final CommandResult item) {
+                actual.add(item.event().get("optionInt", Integer.class));
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                isComplete.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                isComplete.countDown();
+            }
+        });
+
+        // When
+        try (SubmissionPublisher<CharSequence> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+
+            for (int i = 0; i < 100; ++i) {
+                publisher.submit("-i " + i + " false 8 C 8.8 8.8 8 a 8 8 s");
+            }
+        }
+
+        // Then
+        assertTrue(isComplete.await(10, TimeUnit.SECONDS), "Processor should complete");
+        assertEquals(100, actual.size(), "Result count should equal input count");
+
+        for (int i = 0; i < actual.size(); ++i) {
+            assertEquals(i, actual.get(i), "optionInt should equal index");
+        }
+    }
+
+    @Test
+    void GIVEN_invalidValue_WHEN_parseLazily_THEN_defersFailure() {
+        // Given
+        final String line = "-i eight false 8 C 8.8 8.8 8 a 8 8 s";
+
+        // When
+        final CommandResult actual = command.parseLazily(line);
+
+        // Then
+        assertTrue(actual.isSuccess(), "Result should be success");
+        assertEquals('C', actual.event().get("argumentChar", Character.class), "argumentChar should equal expected");
+        assertNull(actual.event().get("optionInt", Integer.class), "optionInt should be null");
+        assertFalse(actual.event().validate(), "Event should not be valid");
+        assertFalse(command.parse(line).isSuccess(), "Eager result should not be success");
+    }
+
+    @Test
+    void GIVEN_primitiveValues_WHEN_getPrimitive_THEN_returnsValues() {
+        // Given
+        final String line = "-b no -i 8 -L 8000000000 -d 8.5 false 8 C 8.8 8.8 9 a 8 8 s";
+
+        // When
+        final CommandResult actual = command.parse(line);
+
+        // Then
+        assertFalse(actual.event().getBoolean("optionBoolean", true), "optionBoolean should equal expected");
+        assertEquals(8, actual.event().getInt("optionInt", 0), "optionInt should equal expected");
+        assertEquals(8_000_000_000L, actual.event().getLong("optionLong", 0L), "optionLong should equal expected");
+        assertEquals(8.5, actual.event().getDouble("optionDouble", 0.0), "optionDouble should equal expected");
+        assertEquals(9, actual.event().getInt("argumentInt", 0), "argumentInt should equal expected");
+        assertEquals(8, actual.event().getInt("optionShort", 8), "Missing optionShort should equal default");
+        assertEquals(8, actual.event().get("optionInt", Integer.class), "Boxed optionInt should equal expected");
+        assertThrows(
+                ClassCastException.class,
+                () -> actual.event().getInt("optionLong", 0),
+                "Long should not be read as int");
+    }
+
+    @Test
+    void GIVEN_integerFormats_WHEN_parse_THEN_returnsValues() {
+        // When/Then
+        assertEquals(255, Parser.INT_PARSER.parse("0xff").value(), "Hexadecimal should equal expected");
+        assertEquals(-8, Parser.INT_PARSER.parse("-0o10").value(), "Octal should equal expected");
+        assertEquals(5, Parser.INT_PARSER.parse("0B101").value(), "Binary should equal expected");
+        assertEquals(1_000_000, Parser.INT_PARSER.parse("1_000_000").value(), "Separators should be ignored");
+        assertEquals(Long.MIN_VALUE, Parser.LONG_PARSER.parse("-9223372036854775808").value(), "Minimum long");
+        assertEquals((byte) -1, Parser.UNSIGNED_BYTE_PARSER.parse("255").value(), "Unsigned byte should wrap");
+        assertEquals(-1L, Parser.UNSIGNED_LONG_PARSER.parse("0xffff_ffff_ffff_ffff").value(), "Unsigned long");
+        assertFalse(Parser.BYTE_PARSER.parse("128").isSuccess(), "Byte overflow should fail");
+        assertFalse(Parser.UNSIGNED_SHORT_PARSER.parse("-1").isSuccess(), "Negative unsigned should fail");
+        assertFalse(Parser.INT_PARSER.parse("1__0").isSuccess(), "Double separator should fail");
+        assertFalse(Parser.INT_PARSER.parse("_1").isSuccess(), "Leading separator should fail");
+        assertFalse(Parser.INT_PARSER.parse("1_").isSuccess(), "Trailing separator should fail");
+        assertFalse(Parser.INT_PARSER.parse("0x").isSuccess(), "Prefix without digits should fail");
+        assertFalse(Parser.SHORT_PARSER.parse("").isSuccess(), "Empty value should fail");
+        assertEquals(
+                "Unsigned integer required but got -1",
+                Parser.UNSIGNED_INT_PARSER.parse("-1").errorMessage(),
+                "Error message should equal expected");
+    }
+
+    @Test
+    void GIVEN_floatingFormats_WHEN_parse_THEN_matchesJdk() {
+        // Given
+        final List<String> values = List.of(
+                "0", "-0", "1.5", ".5", "5.", "-2.5e-3", "1e22", "1e23", "123456789012345678901234567890",
+                "0.1", "3.4028235e38", "4.9e-324", "1e-400", "1e400", "0x1.8p1", "NaN", "-Infinity", "2.5f", " 7 ");
+
+        // When/Then
+        for (final String value : values) {
+            assertEquals(Double.parseDouble(value), Parser.DOUBLE_PARSER.parse(value).value(), "Double " + value);
+            assertEquals(Float.parseFloat(value), Parser.FLOAT_PARSER.parse(value).value(), "Float " + value);
+        }
+
+        assertFalse(Parser.DOUBLE_PARSER.parse("").isSuccess(), "Empty value should fail");
+        assertFalse(Parser.DOUBLE_PARSER.parse(".").isSuccess(), "Point without digits should fail");
+        assertFalse(Parser.DOUBLE_PARSER.parse("1e").isSuccess(), "Exponent without digits should fail");
+        assertFalse(Parser.DOUBLE_PARSER.parse("0x1.8").isSuccess(), "Hexadecimal without exponent should fail");
+        assertFalse(Parser.FLOAT_PARSER.parse("Inf").isSuccess(), "Partial infinity should fail");
+        assertEquals(
+                "Double required but got abc",
+                Parser.DOUBLE_PARSER.parse("abc").errorMessage(),
+                "Error message should equal expected");
+    }
+
+    @Test
+    void GIVEN_extraBooleanWords_WHEN_parse_THEN_returnsValues() {
+        // Given
+        final BooleanParser parser = BooleanParser.builder().trueWords("on", "1").falseWords("OFF", "0").build();
+
+        // When/Then
+        assertEquals(true, parser.parse("On").value(), "on should be true");
+        assertEquals(false, parser.parse("off").value(), "OFF should be false");
+        assertEquals(true, parser.parse("1").value(), "1 should be true");
+        assertEquals(false, parser.parse("0").value(), "0 should be false");
+        assertEquals(true, parser.parse("YES").value(), "Default words should still be recognized");
+        assertEquals(false, Parser.BOOLEAN_PARSER.parse("nO").value(), "Default parser should ignore case");
+        assertFalse(Parser.BOOLEAN_PARSER.parse("on").isSuccess(), "Default parser should not recognize on");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> BooleanParser.builder().trueWords("no").build(),
+                "Word should not be both true and false");
+    }
+
+    @Test
+    void GIVEN_invalidValue_WHEN_parse_THEN_returnsStructuredError() {
+        // When
+        final ParseResult<Integer> actual = Parser.INT_PARSER.parse("12ab");
+
+        // Then
+        assertFalse(actual.isSuccess(), "Result should not be success");
+        assertEquals(ParseError.Code.MALFORMED, actual.error().code(), "Error code should equal expected");
+        assertEquals("Integer", actual.error().expected(), "Expected type should equal expected");
+        assertEquals("12ab", actual.error().offending().toString(), "Offending text should equal expected");
+        assertEquals("Integer required but got 12ab", actual.errorMessage(), "Error message should equal expected");
+        assertTrue(
+                Parser.BOOLEAN_PARSER.parse("yes") == Parser.BOOLEAN_PARSER.parse("TRUE"),
+                "Boolean results should be shared");
+    }
+
+    @Test
+    void GIVEN_invalidOption_WHEN_parse_THEN_describesFailure() throws IOException {
+        // Given
+        final StringBuilder buffer = new StringBuilder();
+
+        // When
+        final CommandResult actual = command.parse(List.of("--optionInt", "abc"));
+
+        actual.writeErrorMessage(buffer);
+
+        // Then
+        assertFalse(actual.isSuccess(), "Result should not be success");
+        assertEquals(
+                "Integer required but got abc",
+                actual.failure().errors().get("optionInt").message(),
+                "Argument error should equal expected");
+        assertEquals(10, actual.failure().missing().size(), "All positional arguments should be missing");
+        assertEquals(actual.errorMessage(), buffer.toString(), "Written message should equal rendered message");
+        assertTrue(buffer.indexOf("Integer required but got abc") > 0, "Message should contain argument error");
+    }
+
+    @Test
+    void GIVEN_argumentKeys_WHEN_get_THEN_returnsValues() {
+        // Given
+        final OptionalArgument<Integer> count = new OptionalArgument<>("count", 'c', "Count", Parser.INT_PARSER);
+        final PositionalArgument<String> target = new PositionalArgument<>("target", "Target", Parser.STRING_PARSER);
+        final Command keyed = new Command("keyed", "Keyed command", "keyed [options] <target>", List.of(count),
+                List.of(target));
+        final ArgumentKey<Integer> countKey = keyed.key(count);
+        final ArgumentKey<String> targetKey = keyed.key(target);
+
+        // When
+        final CommandResult actual = keyed.parse(List.of("-c", "3", "home"));
+
+        // Then
+        assertTrue(actual.isSuccess(), "Result should be success");
+        assertEquals(3, actual.event().getInt(countKey, 0), "count should equal expected");
+        assertEquals("home", actual.event().get(targetKey), "target should equal expected");
+        assertEquals(3, actual.event().get("count", Integer.class), "Name lookup should still work");
+        assertEquals(3, keyed.parse(List.of("home")).event().getOrDefault(countKey, 3), "Missing count is default");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> command.key(count),
+                "Argument of another command should not have a key");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> command.parse(Collections.emptyList()).event().get(targetKey),
+                "Key of another command should be rejected");
+    }
+
+    @Test
+    void GIVEN_parseContext_WHEN_parseInto_THEN_doesNotAllocate() {
+        // Given
+        final OptionalArgument<Integer> count = new OptionalArgument<>("count", 'c', "Count", Parser.INT_PARSER);
+        final OptionalArgument<Boolean> force = new OptionalArgument<>("force", 'f', "Force", Parser.BOOLEAN_PARSER);
+        final OptionalArgument<Double> ratio = new OptionalArgument<>("ratio", 'r', "Ratio", Parser.DOUBLE_PARSER);
+        final PositionalArgument<Long> id = new PositionalArgument<>("id", "Identifier", Parser.LONG_PARSER);
+        final Command reusable = new Command("reusable", "Reusable command", "reusable [options] <id>",
+                List.of(count, force, ratio), List.of(id));
+        final ArgumentKey<Integer> countKey = reusable.key(count);
+        final ArgumentKey<Boolean> forceKey = reusable.key(force);
+        final ArgumentKey<Double> ratioKey = reusable.key(ratio);
+        final ArgumentKey<Long> idKey = reusable.key(id);
+        final ParseContext context = reusable.newContext();
+        final List<String> input = List.of("--count", "42", "-r", "2.5", "-f", "9000000000");
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long checksum = 0;
+
+        for (int i = 0; i < 20_000; ++i) {
+            reusable.parseInto(input, context);
+            checksum += context.event().getInt(countKey, 0) + context.event().getLong(idKey, 0)
+                    + (long) (context.event().getDouble(ratioKey, 0.0) * 2);
+        }
+
+        // When
+        // Take the best of several rounds, since the JIT may still replace code during one of them
+        long allocated = Long.MAX_VALUE;
+
+        for (int round = 0; round < 5; ++round) {
+            final long before = threads.getCurrentThreadAllocatedBytes();
+
+            for (int i = 0; i < 1_000; ++i) {
+                reusable.parseInto(input, context);
+                checksum += context.event().getInt(countKey, 0) + context.event().getLong(idKey, 0)
+                    + (long) (context.event().getDouble(ratioKey, 0.0) * 2);
+            }
+
+            allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+
+        // Then
+        assertEquals(0L, allocated, "Steady state parsing should not allocate");
+        assertEquals(25_000L * (42 + 9_000_000_000L + 5), checksum, "Every parse should read the same values");
+        assertTrue(context.isSuccess(), "Context should be success");
+        assertTrue(context.event().getBoolean(forceKey, false), "force should be set");
+        assertFalse(reusable.parseInto(List.of("-c", "abc"), context), "Invalid input should fail");
+        assertNull(context.event().get(forceKey), "Earlier values should be cleared");
+        assertTrue(context.failure().errors().containsKey("count"), "Failure should describe invalid count");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> command.parseInto(input, context),
+                "Context of another command should be rejected");
+    }
+
+    @Test
+    void GIVEN_cachingParser_WHEN_parse_THEN_cachesResults() {
+        // Given
+        final AtomicLong now = new AtomicLong();
+        final CachingParser<Integer> lru = CachingParser.builder(Parser.INT_PARSER)
+                .maximumSize(1)
+                .policy(CachingParser.EvictionPolicy.LRU)
+                .expireAfterWrite(Duration.ofSeconds(1))
+                .ticker(now::get)
+                .build();
+        final CachingParser<Integer> tinyLfu = CachingParser.builder(Parser.INT_PARSER).maximumSize(100).build();
+
+        // When
+        final ParseResult<Integer> first = lru.parse("1");
+        final ParseResult<Integer> second = lru.parse("1");
+
+        lru.parse("2");
+        lru.parse("1");
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        lru.parse("1");
+
+        for (int i = 0; i < 10; ++i) {
+            tinyLfu.parse("7");
+        }
+
+        for (int i = 0; i < 1_000; ++i) {
+            tinyLfu.parse(Integer.toString(1_000 + i));
+        }
+
+        final long hotHits = tinyLfu.hits();
+
+        tinyLfu.parse("7");
+
+        // Then
+        assertSame(first, second, "Repeated input should return cached result");
+        assertEquals(1L, lru.hits(), "LRU hits should equal expected");
+        assertEquals(4L, lru.misses(), "LRU misses should equal expected");
+        assertEquals(3L, lru.evictions(), "LRU evictions should include expired entry");
+        assertEquals(1, lru.size(), "LRU size should be bounded");
+        assertEquals(hotHits + 1, tinyLfu.hits(), "Frequent input should survive a scan of one-off inputs");
+        assertTrue(tinyLfu.size() <= 100, "W-TinyLFU size should be bounded");
+        assertFalse(lru.parse("abc").isSuccess(), "Failures should be passed through");
+    }
+
+    @Test
+    void GIVEN_resultCache_WHEN_parse_THEN_returnsCachedResult() {
+        // Given
+        final OptionalArgument<Boolean> verbose = new OptionalArgument<>("verbose", 'v', "Verbose",
+                Parser.BOOLEAN_PARSER);
+        final Command status = new Command("status", "Status command", "status [options]", List.of(verbose),
+                Collections.emptyList()).withResultCache(16);
+        final List<String> input = new ArrayList<>(List.of("-v"));
+
+        // When
+        final CommandResult first = status.parse(input);
+
+        input.set(0, "--unknown");
+
+        final CommandResult second = status.parse("  -v ");
+        final CommandResult third = status.parse(List.of("-v"));
+
+        // Then
+        assertSame(first, second, "Line with the same tokens should return cached result");
+        assertSame(first, third, "Repeated input should return cached result");
+        assertTrue(first.isSuccess(), "Result should be success");
+        assertTrue(first.event().get("verbose", Boolean.class), "verbose should be set");
+        assertEquals(new CacheStats(2L, 1L, 0L, 1), status.cacheStats(), "Cache stats should equal expected");
+        assertEquals(2.0 / 3.0, status.cacheStats().hitRatio(), 1e-9, "Hit ratio should equal expected");
+        assertEquals(CacheStats.EMPTY, command.cacheStats(), "Uncached command should have empty stats");
+    }
+
+    @Test
+    void GIVEN_delimitedValues_WHEN_parse_THEN_returnsElements() {
+        // Given
+        final ListParser<String> semicolons = new ListParser<>(Parser.STRING_PARSER, ';', true);
+        final IntArrayParser lenient = new IntArrayParser(Parser.INT_PARSER, ',', false);
+
+        // When
+        final ParseResult<List<String>> strings = semicolons.parse(" a ; 'b;c' ;d");
+        final ParseResult<int[]> ints = Parser.INT_ARRAY_PARSER.parse("1, 0x10, -3");
+        final ParseResult<long[]> longs = Parser.LONG_ARRAY_PARSER.parse("9000000000,1");
+        final ParseResult<double[]> doubles = Parser.DOUBLE_ARRAY_PARSER.parse("1.5,\"2e3\"");
+        final ParseResult<int[]> failFast = Parser.INT_ARRAY_PARSER.parse("1,x,y");
+        final ParseResult<int[]> collected = lenient.parse("1,x,y");
+
+        // Then
+        assertEquals(List.of("a", "b;c", "d"), strings.value(), "Strings should equal expected");
+        assertArrayEquals(new int[] {1, 16, -3}, ints.value(), "Integers should equal expected");
+        assertArrayEquals(new long[] {9_000_000_000L, 1}, longs.value(), "Longs should equal expected");
+        assertArrayEquals(new double[] {1.5, 2000.0}, doubles.value(), "Doubles should equal expected");
+        assertEquals(0, Parser.INT_ARRAY_PARSER.parse("  ").value().length, "Blank value should have no elements");
+        assertEquals("x", failFast.error().offending().toString(), "Fail fast should report first bad element");
+        assertEquals(
+                "2 invalid elements: Integer required but got x; Integer required but got y",
+                collected.errorMessage(),
+                "Lenient parser should report every bad element");
+    }
+
+    @Test
+    void GIVEN_variadicPositional_WHEN_parse_THEN_distributesTokens() {
+        // Given
+        final OptionalArgument<Integer> count = new OptionalArgument<>("count", 'n', "Count", Parser.INT_PARSER);
+        final PositionalArgument<List<String>> sources = PositionalArgument.oneOrMore("sources", "Sources",
+                Parser.STRING_PARSER);
+        final PositionalArgument<String> dest = new PositionalArgument<>("dest", "Destination", Parser.STRING_PARSER);
+        final PositionalArgument<String> mode = PositionalArgument.optional("mode", "Mode", Parser.STRING_PARSER);
+        final Command copy = new Command("copy", "Copy command", "copy [options] <sources...> <dest>",
+                List.of(count), List.of(sources, dest));
+        final Command open = new Command("open", "Open command", "open <dest> [mode]", Collections.emptyList(),
+                List.of(dest, mode));
+        final ArgumentKey<List<String>> sourcesKey = copy.key(sources);
+        final List<String> files = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; ++i) {
+            files.add("file" + i);
+        }
+
+        // When
+        final CommandResult interrupted = copy.parse(List.of("a", "-n", "3", "b", "c", "out"));
+        final CommandResult line = copy.parseLazily("'a b' c out");
+        final CommandResult many = copy.parse(files);
+        final CommandResult missing = copy.parse(List.of("a"));
+        final CommandResult withoutMode = open.parse("file");
+        final CommandResult withMode = open.parse("file rw");
+
+        // Then
+        assertTrue(interrupted.isSuccess(), "Interrupted run should be success");
+        assertEquals(List.of("a", "b", "c"), interrupted.event().get(sourcesKey), "Sources should equal expected");
+        assertEquals("out", interrupted.event().get("dest", String.class), "Destination should be last token");
+        assertEquals(3, interrupted.event().getInt("count", 0), "Option should interrupt the run");
+        assertEquals(List.of("a b", "c"), line.event().get(sourcesKey), "Quoted sources should equal expected");
+        assertEquals(9_999, many.event().get(sourcesKey).size(), "Every token but the last should be a source");
+        assertEquals("file9999", many.event().get("dest", String.class), "Destination should be last file");
+        assertFalse(missing.isSuccess(), "Too few tokens should fail");
+        assertEquals(List.of(dest), missing.failure().missing(), "Destination should be missing");
+        assertTrue(withoutMode.isSuccess(), "Optional positional should not be required");
+        assertEquals("missing", withoutMode.event().getOrDefault("mode", "missing", String.class),
+                "Optional positional should be absent");
+        assertEquals("rw", withMode.event().get("mode", String.class), "Optional positional should equal expected");
+    }
+
+    @Test
+    void GIVEN_varargsPositional_WHEN_parse_THEN_parsesValuesWhenRead() {
+        // Given
+        final AtomicLong parsed = new AtomicLong();
+        final Parser<Integer> counting = new Parser<>() {
+            @Override
+            public ArgumentValueCount getValueCount() {
+                return ArgumentValueCount.ONE;
+            }
+
+            @Override
+            public ParseResult<Integer> parse(final String value) {
+                parsed.incrementAndGet();
+
+                return Parser.INT_PARSER.parse(value);
+            }
+        };
+        final PositionalArgument<LazyValues<Integer>> numbers = PositionalArgument.varargs("numbers", "Numbers",
+                counting);
+        final Command sum = new Command("sum", "Sum command", "sum <numbers...>", Collections.emptyList(),
+                List.of(numbers));
+        final ArgumentKey<LazyValues<Integer>> key = sum.key(numbers);
+        final List<String> input = new ArrayList<>();
+
+        for (int i = 1; i <= 100_000; ++i) {
+            input.add(Integer.toString(i));
+        }
+
+        // When
+        final CommandResult result = sum.parse(input);
+        final long before = parsed.get();
+        final long total = result.event().get(key).stream().mapToLong(Integer::longValue).sum();
+        final LazyValues<Integer> invalid = sum.parse("1 x 3").event().get(key);
+        final LazyValues<Integer> empty = sum.parse("").event().getOrDefault(key, LazyValues.empty(counting));
+
+        // Then
+        assertTrue(result.isSuccess(), "Result should be success");
+        assertEquals(0L, before, "Values should not be parsed until they are read");
+        assertEquals(100_000, result.event().get(key).size(), "Size should equal token count");
+        assertEquals(5_000_050_000L, total, "Sum should equal expected");
+        assertEquals(3, invalid.size(), "Invalid size should equal token count");
+        assertThrows(IllegalArgumentException.class, () -> invalid.stream().toList(), "Invalid value should throw");
+        assertEquals(List.of(true, false, true), invalid.results().map(ParseResult::isSuccess).toList(),
+                "Results should report invalid value");
+        assertEquals(0, empty.size(), "Missing varargs should default to empty");
+    }
+
+    @Test
+    void GIVEN_argumentFiles_WHEN_parse_THEN_expandsFiles(
+            @TempDir(cleanup = CleanupMode.NEVER) final Path directory) throws IOException {
+        // Given
+        final OptionalArgument<Integer> count = new OptionalArgument<>("count", 'n', "Count", Parser.INT_PARSER);
+        final PositionalArgument<LazyValues<String>> files = PositionalArgument.varargs("files", "Files",
+                Parser.STRING_PARSER);
+        final Command copy = new Command("copy", "Copy command", "copy [options] <files...>", List.of(count),
+                List.of(files)).withArgumentFiles();
+        final ArgumentKey<LazyValues<String>> key = copy.key(files);
+        final Path inner = Files.writeString(tempFile(directory, "inner.txt"), "c\n  d\n");
+        final Path outer = Files.writeString(tempFile(directory, "outer.txt"), "-n 3 'a b' @" + inner + " @" + inner);
+        final Path self = tempFile(directory, "self.txt");
+        final Path big = tempFile(directory, "big.txt");
+        final StringBuilder tokens = new StringBuilder();
+
+        Files.writeString(self, "x @" + self);
+
+        for (int i = 0; i < 1_000_000; ++i) {
+            tokens.append(i % 10).append(i % 16 == 15 ? '\n' : ' ');
+        }
+
+        Files.writeString(big, tokens);
+
+        // When
+        final CommandResult nested = copy.parse(List.of("@" + outer, "e"));
+        final CommandResult line = copy.parse("first @" + big + " last");
+
+        // Then
+        assertTrue(nested.isSuccess(), "Nested result should be success");
+        assertEquals(3, nested.event().getInt("count", 0), "Option should be read from argument file");
+        assertEquals(List.of("a b", "c", "d", "c", "d", "e"), nested.event().get(key).stream().toList(),
+                "Files should equal expected");
+        assertTrue(line.isSuccess(), "Line result should be success");
+        assertEquals(1_000_002, line.event().get(key).size(), "Every token should be a file");
+        assertEquals(4_500_000L, line.event().get(key).stream().filter(value -> value.length() == 1)
+                .mapToLong(Integer::parseInt).sum(), "Sum of digits should equal expected");
+        assertThrows(IllegalArgumentException.class, () -> copy.parse(List.of("@" + self)),
+                "Argument file which refers to itself should throw");
+        assertThrows(UncheckedIOException.class, () -> copy.parse(List.of("@" + directory.resolve("missing"))),
+                "Missing argument file should throw");
+    }
+
+    @Test
+    void GIVEN_fileOfLines_WHEN_parseLines_THEN_returnsNumberedResults(
+            @TempDir(cleanup = CleanupMode.NEVER) final Path directory) throws IOException {
+        // Given
+        final OptionalArgument<Integer> count = new OptionalArgument<>("count", 'n', "Count", Parser.INT_PARSER);
+        final PositionalArgument<String> word = new PositionalArgument<>("word", "Word", Parser.STRING_PARSER);
+        final Command echo = new Command("echo", "Echo command", "echo [options] <word>", List.of(count),
+                List.of(word));
+        final Path journal = tempFile(directory, "journal.txt");
+        final StringBuilder lines = new StringBuilder();
+
+        for (int i = 1; i <= 10_000; ++i) {
+            if (i % 100 == 0) {
+                lines.append("  ");
+            } else if (i == 5_001) {
+                lines.append("word --bad");
+            } else {
+                lines.append("word").append(i).append(" -n ").append(i);
+            }
+
+            lines.append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+
+        Files.writeString(journal, lines);
+
+        // When
+        final List<LineResult> ordered = echo.parseLines(journal).toList();
+        final AtomicLong unordered = new AtomicLong();
+
+        echo.parseLines(journal).forEach(result -> unordered.incrementAndGet());
+
+        // Then
+        assertEquals(9_900, ordered.size(), "Blank lines should be skipped");
+        assertEquals(9_900L, unordered.get(), "Unordered results should include every line");
+
+        for (final LineResult line : ordered) {
+            final int number = (int) line.lineNumber();
+
+            if (number == 5_001) {
+                assertFalse(line.result().isSuccess(), "Bad line should fail");
+            } else {
+                assertEquals("word" + number, line.result().event().get("word", String.class),
+                        "Word should match line number");
+                assertEquals(number, line.result().event().getInt("count", 0), "Count should match line number");
+            }
+        }
+
+        assertEquals(9_999L, ordered.getLast().lineNumber(), "Last non-blank line number should equal expected");
+    }
+
+    @Test
+    void GIVEN_arguments_WHEN_compiled_THEN_assignsSlotsAfterHelp() {
+        // Given
+        final OptionalArgument<Integer> first = new OptionalArgument<>("first", '1', "First", Parser.INT_PARSER);
+        final OptionalArgument<String> second = new OptionalArgument<>("second", '2', "Second", Parser.STRING_PARSER);
+        final PositionalArgument<String> target = new PositionalArgument<>("target", "Target", Parser.STRING_PARSER);
+        final Command slots = new Command("slots", "Slots command", "slots [options] <target>", List.of(first, second),
+                List.of(target));
+
+        // When
+        final CommandResult help = slots.parse(List.of("-h", "value"));
+
+        // Then
+        assertEquals(1, slots.key(first).slot(), "First option should follow help");
+        assertEquals(2, slots.key(second).slot(), "Second option should follow first option");
+        assertEquals(3, slots.key(target).slot(), "Positional argument should follow options");
+        assertTrue(help.event().getBoolean("help", false), "Help should be parsed");
+        assertTrue(slots.toString().indexOf("--help") < slots.toString().indexOf("--first"),
+                "Help should be listed first");
+        assertThrows(IllegalArgumentException.class,
+                () -> slots.key(new PositionalArgument<>("other", "Other", Parser.STRING_PARSER)),
+                "Argument of another command should not have a slot");
+    }
+
+    @Test
+    void GIVEN_optionValues_WHEN_parse_THEN_readsValuesInOnePass() {
+        // Given
+        final OptionalArgument<Integer> count = new OptionalArgument<>("count", 'n', "Count", Parser.INT_PARSER);
+        final OptionalArgument<String> label = new OptionalArgument<>("label", 'l', "Label", Parser.STRING_PARSER);
+        final Command values = new Command("values", "Values command", "values [options]", List.of(count, label),
+                Collections.emptyList());
+
+        // When
+        final CommandResult equals = values.parse(List.of("--count=3", "--label=a=b"));
+        final CommandResult space = values.parse(List.of("--count", "4", "-l", "x"));
+        final CommandResult missing = values.parse(List.of("--label", "y", "--count"));
+
+        // Then
+        assertTrue(equals.isSuccess(), "--opt=value should be success");
+        assertEquals(3, equals.event().getInt("count", 0), "--opt=value should equal expected");
+        assertEquals("a=b", equals.event().get("label", String.class), "Value should keep later equals signs");
+        assertTrue(space.isSuccess(), "--opt value should be success");
+        assertEquals(4, space.event().getInt("count", 0), "--opt value should equal expected");
+        assertEquals("x", space.event().get("label", String.class), "-o value should equal expected");
+        assertFalse(missing.isSuccess(), "Missing value should fail");
+        assertEquals(ParseError.Code.MISSING_VALUE, missing.failure().errors().get("count").code(),
+                "Error should be missing value");
+        assertEquals("y", missing.event().get("label", String.class), "Earlier option should still be parsed");
+    }
+
+    @Test
+    void GIVEN_duplicateLongOption_WHEN_constructed_THEN_throws() {
+        // Given
+        final OptionalArgument<Integer> first = new OptionalArgument<>("count", 'n', "Count", Parser.INT_PARSER);
+        final OptionalArgument<Integer> second = new OptionalArgument<>("count", 'c', "Count", Parser.INT_PARSER);
+        final OptionalArgument<Boolean> help = new OptionalArgument<>("help", 'H', "Help", Parser.BOOLEAN_PARSER);
+
+        // When
+        final IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+                () -> new Command("dup", "Duplicate command", "dup", List.of(first, second), Collections.emptyList()),
+                "Duplicate long option should throw");
+        final IllegalArgumentException shadow = assertThrows(IllegalArgumentException.class,
+                () -> new Command("dup", "Duplicate command", "dup", List.of(help), Collections.emptyList()),
+                "Option shadowing help should throw");
+
+        // Then
+        assertEquals("Duplicate long option --count", duplicate.getMessage(), "Message should name the option");
+        assertEquals("Duplicate long option --help", shadow.getMessage(), "Message should name help");
+    }
+
+    @Test
+    void GIVEN_textSlice_WHEN_indexOutsideSlice_THEN_throws() {
+        // Given
+        final TextSlice slice = new TextSlice("--count=42", 2, 7);
+
+        // When
+        final CharSequence sub = slice.subSequence(1, 3);
+
+        // Then
+        assertEquals("ou", sub.toString(), "Sub-sequence should be relative to the slice");
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.charAt(5), "Index past the end should throw");
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.charAt(-1), "Negative index should throw");
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.subSequence(3, 6),
+                "Sub-sequence past the end should throw");
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.subSequence(-2, 1),
+                "Sub-sequence before the start should throw");
+    }
+
+    @Test
+    void GIVEN_mappedFile_WHEN_tokenized_THEN_decodesEachLineAsItIsRead(
+            @TempDir(cleanup = CleanupMode.NEVER) final Path directory) throws IOException {
+        // Given
+        final Path text = Files.writeString(tempFile(directory, "text.txt"), "a 'b c'\n\n  ü x\r\n \n");
+        final Path invalid = Files.write(tempFile(directory, "invalid.txt"), new byte[] {'a', '\n', (byte) 0xC3, '\n'});
+        final MappedTokenizer tokens = new MappedTokenizer(MappedText.map(text));
+        final MappedTokenizer invalidTokens = new MappedTokenizer(MappedText.map(invalid));
+        final List<String> all = new ArrayList<>();
+
+        // When
+        tokens.next();
+
+        final MappedTokenizer rest = (MappedTokenizer) tokens.rest();
+        final int remaining = tokens.remaining();
+
+        do {
+            all.add(tokens.slice().toString());
+        } while (tokens.next());
+
+        final List<String> restTokens = new ArrayList<>();
+
+        while (rest.next()) {
+            restTokens.add(rest.slice().toString());
+        }
+
+        // Then
+        assertEquals(List.of("a", "'b c'", "ü", "x"), all, "Tokens should equal expected");
+        assertEquals(List.of("'b c'", "ü", "x"), restTokens, "Rest should start after the current token");
+        assertEquals(3, remaining, "Remaining should count tokens on later lines");
+        assertThrows(UncheckedIOException.class, invalidTokens::next,
+                "Invalid UTF-8 should only throw when its line is read");
+    }
+
+    @Test
+    void GIVEN_utf8FileOfLines_WHEN_parseLines_THEN_decodesEachLine(
+            @TempDir(cleanup = CleanupMode.NEVER) final Path directory) throws IOException {
+        // Given
+        final PositionalArgument<String> word = new PositionalArgument<>("word", "Word", Parser.STRING_PARSER);
+        final Command echo = new Command("echo", "Echo command", "echo <word>", Collections.emptyList(),
+                List.of(word));
+        final Path journal = Files.writeString(tempFile(directory, "journal.txt"), "plain\r\nnaïve\n　\nzürich");
+        final Path invalid = Files.write(tempFile(directory, "invalid.txt"), new byte[] {'a', '\n', (byte) 0xC3, '\n'});
+
+        // When
+        final List<LineResult> actual = echo.parseLines(journal).toList();
+        final Stream<LineResult> invalidLines = echo.parseLines(invalid);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 4L), actual.stream().map(LineResult::lineNumber).toList(),
+                "Line numbers should count raw line breaks");
+        assertEquals(List.of("plain", "naïve", "zürich"),
+                actual.stream().map(line -> line.result().event().get("word", String.class)).toList(),
+                "Words should be decoded");
+        assertThrows(UncheckedIOException.class, invalidLines::toList, "Invalid line should throw when it is parsed");
+    }
+
+    @Test
+    void GIVEN_argumentFileSource_WHEN_rest_THEN_readsRestOfOpenFiles(
+            @TempDir(cleanup = CleanupMode.NEVER) final Path directory) throws IOException {
+        // Given
+        final Path file = Files.writeString(tempFile(directory, "args.txt"), "b c\nd");
+        final ArgumentFileSource tokens = new ArgumentFileSource(new ListTokenSource(List.of("a", "@" + file, "z")));
+
+        tokens.next();
+        tokens.next();
+
+        // When
+        final ArgumentFileSource rest = (ArgumentFileSource) tokens.rest();
+        final List<String> restTokens = new ArrayList<>();
+        final int restRemaining = rest.remaining();
+
+        while (rest.next()) {
+            restTokens.add(rest.slice().toString());
+        }
+
+        rest.rewind();
+        rest.next();
+
+        final List<String> remainingTokens = new ArrayList<>();
+        final int remaining = tokens.remaining();
+
+        while (tokens.next()) {
+            remainingTokens.add(tokens.slice().toString());
+        }
+
+        // Then
+        assertEquals(List.of("c", "d", "z"), restTokens, "Rest should read the rest of the file then the input");
+        assertEquals(3, restRemaining, "Rest should count its tokens");
+        assertEquals("c", rest.slice().toString(), "Rewound rest should start at its first token");
+        assertEquals(3, remaining, "Source should count its tokens");
+        assertEquals(List.of("c", "d", "z"), remainingTokens, "Source shouldn't be moved by its rest");
+    }
+
+    @Test
+    void GIVEN_flagBeforePositional_WHEN_parse_THEN_flagDoesNotTakePositional() {
+        // Given
+        final OptionalArgument<Boolean> verbose = new OptionalArgument<>("verbose", 'v', "Verbose",
+                Parser.BOOLEAN_PARSER);
+        final PositionalArgument<String> file = PositionalArgument.optional("file", "File", Parser.STRING_PARSER);
+        final PositionalArgument<String> source = new PositionalArgument<>("source", "Source", Parser.STRING_PARSER);
+        final PositionalArgument<String> target = new PositionalArgument<>("target", "Target", Parser.STRING_PARSER);
+        final PositionalArgument<LazyValues<Integer>> numbers = PositionalArgument.varargs("numbers", "Numbers",
+                Parser.INT_PARSER);
+        final Command open = new Command("open", "Open command", "open [options] [file]", List.of(verbose),
+                List.of(file));
+        final Command copy = new Command("cp", "Copy command", "cp [options] <source> <target>", List.of(verbose),
+                List.of(source, target));
+        final Command sum = new Command("sum", "Sum command", "sum [options] <numbers...>", List.of(verbose),
+                List.of(numbers));
+        final ArgumentKey<LazyValues<Integer>> numbersKey = sum.key(numbers);
+
+        // When
+        final CommandResult opened = open.parse(List.of("-v", "a.txt"));
+        final CommandResult copied = copy.parse(List.of("-v", "a", "b"));
+        final CommandResult summed = sum.parse(List.of("-v", "1", "2"));
+        final CommandResult helped = sum.parse(List.of("-h", "1", "2"));
+        final CommandResult word = open.parse(List.of("-v", "no", "a.txt"));
+        final CommandResult attached = open.parse(List.of("--verbose=false", "a.txt"));
+
+        // Then
+        assertTrue(opened.isSuccess(), "Flag before optional positional should be success");
+        assertTrue(opened.event().getBoolean("verbose", false), "Flag should be set");
+        assertEquals("a.txt", opened.event().get("file", String.class), "Optional positional should equal expected");
+        assertTrue(copied.isSuccess(), "Flag before positionals should be success");
+        assertTrue(copied.event().getBoolean("verbose", false), "Flag should be set");
+        assertEquals("a", copied.event().get("source", String.class), "Source should equal expected");
+        assertEquals("b", copied.event().get("target", String.class), "Target should equal expected");
+        assertTrue(summed.isSuccess(), "Flag before varargs positional should be success");
+        assertTrue(summed.event().getBoolean("verbose", false), "Flag should be set");
+        assertEquals(List.of(1, 2), summed.event().get(numbersKey).stream().toList(),
+                "Varargs positional should equal expected");
+        assertTrue(helped.isSuccess(), "Help before varargs positional should be success");
+        assertTrue(helped.event().getBoolean("help", false), "Help should be set");
+        assertEquals(List.of(1, 2), helped.event().get(numbersKey).stream().toList(),
+                "Varargs positional should equal expected");
+        assertTrue(word.isSuccess(), "Flag followed by a boolean word should be success");
+        assertFalse(word.event().getBoolean("verbose", true), "Flag should take a boolean word as its value");
+        assertEquals("a.txt", word.event().get("file", String.class), "Optional positional should equal expected");
+        assertTrue(attached.isSuccess(), "Attached flag value should be success");
+        assertFalse(attached.event().getBoolean("verbose", true), "Attached flag value should be parsed");
+        assertEquals("a.txt", attached.event().get("file", String.class), "Optional positional should equal expected");
+    }
+
+    @Test
+    void GIVEN_flagBeforeVariadicPositional_WHEN_parse_THEN_distributesTokens() {
+        // Given
+        final OptionalArgument<Boolean> verbose = new OptionalArgument<>("verbose", 'v', "Verbose",
+                Parser.BOOLEAN_PARSER);
+        final PositionalArgument<List<String>> sources = PositionalArgument.oneOrMore("sources", "Sources",
+                Parser.STRING_PARSER);
+        final PositionalArgument<String> dest = new PositionalArgument<>("dest", "Destination", Parser.STRING_PARSER);
+        final PositionalArgument<String> mode = PositionalArgument.optional("mode", "Mode", Parser.STRING_PARSER);
+        final Command copy = new Command("copy", "Copy command", "copy [options] <sources...> <dest>",
+                List.of(verbose), List.of(sources, dest));
+        final Command open = new Command("open", "Open command", "open [options] <dest> [mode]", List.of(verbose),
+                List.of(dest, mode));
+        final ArgumentKey<List<String>> sourcesKey = copy.key(sources);
+
+        // When
+        final CommandResult copied = copy.parse(List.of("-v", "a", "b", "out"));
+        final CommandResult line = copy.parseLazily("a -v 'b c' out");
+        final CommandResult helped = copy.parse(List.of("-h", "a", "out"));
+        final CommandResult opened = open.parse(List.of("-v", "file", "rw"));
+        final CommandResult word = open.parse("-v yes file");
+
+        // Then
+        assertTrue(copied.isSuccess(), "Flag before variadic positional should be success");
+        assertTrue(copied.event().getBoolean("verbose", false), "Flag should be set");
+        assertEquals(List.of("a", "b"), copied.event().get(sourcesKey), "Sources should equal expected");
+        assertEquals("out", copied.event().get("dest", String.class), "Destination should be last token");
+        assertTrue(line.isSuccess(), "Flag within variadic positional should be success");
+        assertEquals(List.of("a", "b c"), line.event().get(sourcesKey), "Quoted sources should equal expected");
+        assertEquals("out", line.event().get("dest", String.class), "Destination should be last token");
+        assertTrue(helped.isSuccess(), "Help before variadic positional should be success");
+        assertTrue(helped.event().getBoolean("help", false), "Help should be set");
+        assertEquals(List.of("a"), helped.event().get(sourcesKey), "Sources should equal expected");
+        assertTrue(opened.isSuccess(), "Flag before optional positional should be success");
+        assertEquals("file", opened.event().get("dest", String.class), "Destination should equal expected");
+        assertEquals("rw", opened.event().get("mode", String.class), "Optional positional should equal expected");
+        assertTrue(word.isSuccess(), "Flag followed by a boolean word should be success");
+        assertTrue(word.event().getBoolean("verbose", false), "Flag should take a boolean word as its value");
+        assertEquals("file", word.event().get("dest", String.class), "Destination should equal expected");
+        assertEquals("missing", word.event().getOrDefault("mode", "missing", String.class),
+                "Optional positional should be absent");
+    }
+
+    @Test
+    void GIVEN_emptyToken_WHEN_parseWithArgumentFiles_THEN_parsesAsWithout() {
+        // Given
+        final OptionalArgument<Boolean> verbose = new OptionalArgument<>("verbose", 'v', "Verbose",
+                Parser.BOOLEAN_PARSER);
+        final PositionalArgument<String> file = PositionalArgument.optional("file", "File", Parser.STRING_PARSER);
+        final Command plain = new Command("open", "Open command", "open [options] [file]", List.of(verbose),
+                List.of(file));
+        final Command expanding = plain.withArgumentFiles();
+        final List<String> input = List.of("-v", "");
+
+        // When
+        final CommandResult expected = plain.parse(input);
+        final CommandResult actual = expanding.parse(input);
+
+        // Then
+        assertTrue(expected.isSuccess(), "Result without argument files should be success");
+        assertTrue(actual.isSuccess(), "Result with argument files should be success");
+        assertTrue(actual.event().getBoolean("verbose", false), "Flag should be set");
+        assertEquals(expected.event().get("file", String.class), actual.event().get("file", String.class),
+                "Empty positional should equal result without argument files");
+    }
+
+    /*
+     * Mapped files can't be deleted on some platforms until they are garbage collected, so tests which map files take
+     * a temporary directory which isn't cleaned up after the test. Files created here are deleted when the JVM exits
+     * instead.
+     */
+    private static Path tempFile(final Path directory, final String name) {
+        final Path path = directory.resolve(name);
+
+        // Paths are deleted on exit in reverse order of registration, so the file goes before its directory
+        directory.toFile().deleteOnExit();
+        path.toFile().deleteOnExit();
+
+        return path;
+    }
 }